@@ -0,0 +1,98 @@
+package com.liatrio.exercise.dataService.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.liatrio.exercise.dataService.cache.EncodedItemListCache;
+import com.liatrio.exercise.dataService.dto.ApiResponse;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of encoding and decoding the GET /api/coreProcess/items response body as JSON and
+// as CBOR. The payload sizes of both are printed when each trial starts.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "100", "10000", "1000000"})
+    public int size;
+
+    private static final TypeReference<ApiResponse<List<Item>>> ITEM_LIST_RESPONSE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private List<Item> items;
+    private byte[] encodedJson;
+    private byte[] encodedCbor;
+    private EncodedItemListCache encodedItemList;
+
+    @Setup
+    public void createItems() throws JsonProcessingException {
+        items = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            items.add(new Item((long) i, "Item " + i));
+        }
+
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        repository.saveAll(items);
+        encodedItemList = new EncodedItemListCache(repository, objectMapper, true);
+
+        ApiResponse<List<Item>> response = ApiResponse.of(items);
+        encodedJson = objectMapper.writeValueAsBytes(response);
+        encodedCbor = cborMapper.writeValueAsBytes(response);
+        System.out.printf("%n%d items: JSON %d bytes, CBOR %d bytes%n", size, encodedJson.length, encodedCbor.length);
+    }
+
+    @Benchmark
+    public byte[] serializeItemList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.of(items));
+    }
+
+    @Benchmark
+    public byte[] serializeItemListCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(ApiResponse.of(items));
+    }
+
+    @Benchmark
+    public ApiResponse<List<Item>> parseItemList() throws IOException {
+        return objectMapper.readValue(encodedJson, ITEM_LIST_RESPONSE);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Item>> parseItemListCbor() throws IOException {
+        return cborMapper.readValue(encodedCbor, ITEM_LIST_RESPONSE);
+    }
+
+    // What a read of an unchanged list costs with dataservice.list-cache.enabled
+    @Benchmark
+    public byte[] preEncodedItemList() {
+        return encodedItemList.get().json();
+    }
+
+    @Benchmark
+    public byte[] serializeSingleItem() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.of(items.get(0)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.liatrio.exercise.dataService.benchmark;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.liatrio.exercise.dataService.cache.CachingCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// getItemById latency against a backend that takes about 50 µs per call, with and without
+// the cache, under Zipfian skewed reads. Sample mode reports the p99 alongside the mean.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CacheBenchmark {
+
+    private static final long BACKEND_LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int ITEMS = 1_000_000;
+    private static final int CACHE_SIZE = ITEMS / 100;
+
+    @Param({"none", "caffeine"})
+    public String cache;
+
+    // Zipf exponent; the closer to 0 the more uniform the reads
+    @Param({"0.8", "0.99", "1.2"})
+    public double skew;
+
+    private CoreProcessItemsRepository repository;
+    private ZipfianGenerator keys;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        InMemoryCoreProcessItemsRepository store = new InMemoryCoreProcessItemsRepository();
+        List<Item> batch = new ArrayList<>(ITEMS);
+        for (int i = store.findAll().size(); i < ITEMS; i++) {
+            batch.add(new Item(null, "Benchmark Item " + i));
+        }
+        store.saveAll(batch);
+
+        CoreProcessItemsRepository backend = slow(store);
+        repository = switch (cache) {
+            case "none" -> backend;
+            case "caffeine" -> new CachingCoreProcessItemsRepository(backend,
+                    Caffeine.newBuilder().maximumSize(CACHE_SIZE).build());
+            default -> throw new IllegalArgumentException("Unknown cache " + cache);
+        };
+        keys = new ZipfianGenerator(ITEMS, skew);
+    }
+
+    @Benchmark
+    public Optional<Item> findById() {
+        // Scatter the popular ranks over the ID space, as popularity is unrelated to age
+        long rank = keys.next(ThreadLocalRandom.current());
+        return repository.findById(scatter(rank) % ITEMS + 1);
+    }
+
+    private static long scatter(long rank) {
+        long h = rank * 0x9E3779B97F4A7C15L;
+        return (h ^ (h >>> 32)) & Long.MAX_VALUE;
+    }
+
+    // Pauses before every call, as a round trip to a remote store would
+    private static CoreProcessItemsRepository slow(CoreProcessItemsRepository delegate) {
+        return (CoreProcessItemsRepository) Proxy.newProxyInstance(
+                CoreProcessItemsRepository.class.getClassLoader(),
+                new Class<?>[] {CoreProcessItemsRepository.class},
+                (proxy, method, args) -> {
+                    LockSupport.parkNanos(BACKEND_LATENCY_NANOS);
+                    try {
+                        return method.invoke(delegate, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package com.liatrio.exercise.dataService.benchmark;
+
+import com.liatrio.exercise.dataService.repository.id.BlockIdGenerator;
+import com.liatrio.exercise.dataService.repository.id.IdReservations;
+import com.liatrio.exercise.dataService.repository.id.ItemIdGenerator;
+import com.liatrio.exercise.dataService.repository.id.SequentialIdGenerator;
+import com.liatrio.exercise.dataService.repository.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// One shared generator per trial; run with -PjmhThreads=<n> to measure contention
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Param({"sequential", "block", "snowflake"})
+    public String generator;
+
+    private ItemIdGenerator ids;
+
+    @Setup(Level.Trial)
+    public void create() {
+        ids = switch (generator) {
+            case "sequential" -> new SequentialIdGenerator(0);
+            case "block" -> new BlockIdGenerator(0, 1024, IdReservations.NONE);
+            case "snowflake" -> new SnowflakeIdGenerator(0, IdReservations.NONE);
+            default -> throw new IllegalArgumentException("Unknown generator " + generator);
+        };
+    }
+
+    @Benchmark
+    public long nextId() {
+        return ids.nextId();
+    }
+}
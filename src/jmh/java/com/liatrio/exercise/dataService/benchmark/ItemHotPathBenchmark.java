@@ -0,0 +1,122 @@
+package com.liatrio.exercise.dataService.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.liatrio.exercise.dataService.controller.ItemResponseEncoder;
+import com.liatrio.exercise.dataService.dto.ApiResponse;
+import com.liatrio.exercise.dataService.metrics.MeteredCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.OffHeapCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ShardedCoreProcessItemsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The work getItemById and updateItem do themselves, the boxed way they used to and the
+// primitive way they do now. Run with -PjmhProfilers=gc to see the bytes allocated per
+// operation (gc.alloc.rate.norm): the primitive lookup allocates nothing, and encoding
+// allocates only the response array.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemHotPathBenchmark {
+
+    private static final int ITEMS = 1_000_000;
+
+    @Param({"in-memory", "off-heap", "sharded", "in-memory-metered"})
+    public String engine;
+
+    private final ObjectWriter responseWriter = new ObjectMapper().writerFor(ApiResponse.class);
+    private CoreProcessItemsRepository repository;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        repository = switch (engine) {
+            case "in-memory" -> new InMemoryCoreProcessItemsRepository();
+            case "off-heap" -> new OffHeapCoreProcessItemsRepository();
+            case "sharded" -> new ShardedCoreProcessItemsRepository(16);
+            case "in-memory-metered" -> new MeteredCoreProcessItemsRepository(
+                    new InMemoryCoreProcessItemsRepository(), new SimpleMeterRegistry());
+            default -> throw new IllegalArgumentException("Unknown engine " + engine);
+        };
+
+        List<Item> batch = new ArrayList<>(ITEMS);
+        for (int i = repository.findAll().size(); i < ITEMS; i++) {
+            batch.add(new Item(null, "Benchmark Item " + i));
+        }
+        repository.saveAll(batch);
+    }
+
+    @Benchmark
+    public void lookupBoxed(Blackhole blackhole) {
+        Long id = randomId();
+        OptionalLong version = repository.versionOf(id);
+        Optional<Item> item = repository.findById(id);
+        blackhole.consume(version.getAsLong());
+        blackhole.consume(item.get());
+    }
+
+    @Benchmark
+    public void lookupPrimitive(Blackhole blackhole) {
+        long id = randomId();
+        blackhole.consume(repository.itemVersion(id));
+        blackhole.consume(repository.findItem(id));
+    }
+
+    @Benchmark
+    public byte[] getItemByIdWithObjectMapper() throws JsonProcessingException {
+        Long id = randomId();
+        repository.versionOf(id);
+        return responseWriter.writeValueAsBytes(ApiResponse.of(repository.findById(id).orElseThrow()));
+    }
+
+    @Benchmark
+    public byte[] getItemByIdWithEncoder() {
+        long id = randomId();
+        repository.itemVersion(id);
+        return ItemResponseEncoder.encode(repository.findItem(id), System.currentTimeMillis());
+    }
+
+    // The former PATCH: look the item up, then update it and encode with the ObjectMapper
+    @Benchmark
+    public byte[] updateItemWithLookup() throws JsonProcessingException {
+        Long id = randomId();
+        Item existing = repository.findById(id).orElseThrow();
+        Item saved = repository.update(new Item(existing.id(), "Updated Item"));
+        return responseWriter.writeValueAsBytes(ApiResponse.of(saved));
+    }
+
+    @Benchmark
+    public byte[] updateItemDirect() {
+        Item saved = repository.update(new Item(randomId(), "Updated Item"));
+        return ItemResponseEncoder.encode(saved, System.currentTimeMillis());
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, ITEMS + 1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.liatrio.exercise.dataService.benchmark;
+
+import com.liatrio.exercise.dataService.metrics.MeteredCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.OffHeapCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ShardedCoreProcessItemsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// One shared repository per trial, so running with several threads (-PjmhThreads)
+// measures the operations under contention
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class RepositoryBenchmark {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    // in-memory-metered measures the overhead of the metrics decorator
+    @Param({"in-memory", "off-heap", "sharded", "in-memory-metered"})
+    public String engine;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private CoreProcessItemsRepository repository;
+    private long maxSeededId;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        repository = switch (engine) {
+            case "in-memory" -> new InMemoryCoreProcessItemsRepository();
+            case "off-heap" -> new OffHeapCoreProcessItemsRepository();
+            case "sharded" -> new ShardedCoreProcessItemsRepository(16);
+            case "in-memory-metered" -> new MeteredCoreProcessItemsRepository(
+                    new InMemoryCoreProcessItemsRepository(), new SimpleMeterRegistry());
+            default -> throw new IllegalArgumentException("Unknown engine " + engine);
+        };
+
+        List<Item> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        for (int i = repository.findAll().size(); i < size; i++) {
+            batch.add(new Item(null, "Benchmark Item " + i));
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+        maxSeededId = size;
+    }
+
+    @Benchmark
+    public Optional<Item> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public Item update() {
+        return repository.update(new Item(randomId(), "Updated Item"));
+    }
+
+    // Paired so the dataset keeps its size however long the benchmark runs
+    @Benchmark
+    public void saveThenDeleteById(Blackhole blackhole) {
+        Item saved = repository.save(new Item(null, "Transient Item"));
+        repository.deleteById(saved.id());
+        blackhole.consume(saved);
+    }
+
+    @Benchmark
+    public List<Item> findPage() {
+        return repository.findPage(randomId(), 100);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Item> findAll() {
+        return repository.findAll();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, maxSeededId + 1);
+    }
+}
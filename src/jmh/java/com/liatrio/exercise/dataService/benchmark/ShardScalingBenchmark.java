@@ -0,0 +1,81 @@
+package com.liatrio.exercise.dataService.benchmark;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ShardedCoreProcessItemsRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Write throughput of the single-lock in-memory engine against the sharded engine with a
+// growing number of shards. Repeat with -PjmhThreads=1, 2, 4, ... 64 to see how each
+// scales with cores; the in-memory engine serializes every writer on one lock.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ShardScalingBenchmark {
+
+    private static final int SIZE = 1_000_000;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    @Param({"in-memory", "sharded-1", "sharded-4", "sharded-16", "sharded-64"})
+    public String engine;
+
+    private CoreProcessItemsRepository repository;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        repository = engine.equals("in-memory")
+                ? new InMemoryCoreProcessItemsRepository()
+                : new ShardedCoreProcessItemsRepository(Integer.parseInt(engine.substring("sharded-".length())));
+
+        List<Item> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        for (int i = repository.findAll().size(); i < SIZE; i++) {
+            batch.add(new Item(null, "Benchmark Item " + i));
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    @Benchmark
+    public Item update() {
+        return repository.update(new Item(randomId(), "Updated Item"));
+    }
+
+    // One write in ten, the rest reads
+    @Benchmark
+    public Object mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            return repository.update(new Item(randomId(), "Updated Item"));
+        }
+        Optional<Item> item = repository.findById(randomId());
+        return item;
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, SIZE + 1);
+    }
+}
@@ -0,0 +1,76 @@
+package com.liatrio.exercise.dataService.benchmark;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.pipeline.WritePipeline;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Updates from many threads applied directly, each thread taking the store's write lock, or
+// through the write pipeline's single writer. Run with -PjmhThreads=<n>; the pipeline only
+// pays off once enough writers contend for the lock to outweigh the handoff to the writer.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WritePipelineBenchmark {
+
+    private static final int ITEMS = 100_000;
+
+    @Param({"direct", "pipeline"})
+    public String path;
+
+    private CoreProcessItemsRepository repository;
+    private WritePipeline pipeline;
+
+    @Setup(Level.Trial)
+    public void create() {
+        repository = new InMemoryCoreProcessItemsRepository();
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item(null, "Item " + i));
+        }
+        repository.saveAll(items);
+        if (path.equals("pipeline")) {
+            pipeline = new WritePipeline(repository, 65_536, 256, WritePipeline.Backpressure.WAIT, Duration.ofSeconds(10),
+                    Duration.ofSeconds(10));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<Item> update() {
+        Item item = new Item(ThreadLocalRandom.current().nextLong(1, ITEMS + 1), "Updated");
+        if (pipeline == null) {
+            return Optional.of(repository.update(item));
+        }
+        return pipeline.update(item).join();
+    }
+}
@@ -0,0 +1,56 @@
+package com.liatrio.exercise.dataService.benchmark;
+
+import java.util.Random;
+
+// Zipf distributed ranks in [0, items), rank 0 being the most popular, using the
+// rejection-inversion method of Hörmann and Derflinger so no per-rank table is needed
+final class ZipfianGenerator {
+    private final long items;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralItems;
+    private final double s;
+
+    ZipfianGenerator(long items, double exponent) {
+        this.items = items;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralItems = hIntegral(items + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    long next(Random random) {
+        while (true) {
+            double u = hIntegralItems + random.nextDouble() * (hIntegralX1 - hIntegralItems);
+            double x = hIntegralInverse(u);
+            long k = Math.max(1, Math.min(items, Math.round(x)));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k - 1;
+            }
+        }
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1, x * (1 - exponent));
+        return Math.exp(helper1(t) * x);
+    }
+
+    // log1p(x) / x, accurate near 0
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    // expm1(x) / x, accurate near 0
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x * (1.0 / 3) * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,78 @@
+package com.liatrio.exercise.dataService.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Caps the number of requests in flight at a limit found by additive increase and
+// multiplicative decrease (AIMD). While requests complete within the latency threshold and
+// the limit is at least half used, each completion raises it by 1/limit, at most one per
+// round of requests. A completion over the threshold cuts it by a tenth, at most once per
+// threshold, so a single burst of slow requests does not collapse it to the minimum.
+//
+// The limit is kept in thousandths so the small increases add up; all state is updated
+// with compare-and-set.
+public class AdaptiveConcurrencyLimiter {
+    private static final long SCALE = 1000;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final long minLimit;
+    private final long maxLimit;
+    private final long latencyThresholdNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong scaledLimit;
+    private final AtomicLong lastDecrease;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+        this(initialLimit, minLimit, maxLimit, latencyThreshold, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max, were "
+                    + minLimit + ", " + initialLimit + " and " + maxLimit);
+        }
+        this.minLimit = minLimit * SCALE;
+        this.maxLimit = maxLimit * SCALE;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.nanoClock = nanoClock;
+        this.scaledLimit = new AtomicLong(initialLimit * SCALE);
+        this.lastDecrease = new AtomicLong(nanoClock.getAsLong() - latencyThresholdNanos);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Must follow every successful tryAcquire, with the time the request took
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            long now = nanoClock.getAsLong();
+            long last = lastDecrease.get();
+            if (now - last >= latencyThresholdNanos && lastDecrease.compareAndSet(last, now)) {
+                scaledLimit.updateAndGet(limit -> Math.max(minLimit, (long) (limit * BACKOFF_RATIO)));
+            }
+        } else if (inFlightBefore * 2L >= limit()) {
+            scaledLimit.updateAndGet(limit -> Math.min(maxLimit, limit + SCALE * SCALE / limit));
+        }
+    }
+
+    public int limit() {
+        return (int) (scaledLimit.get() / SCALE);
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
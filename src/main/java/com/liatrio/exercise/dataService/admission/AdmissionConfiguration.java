@@ -0,0 +1,54 @@
+package com.liatrio.exercise.dataService.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "dataservice.admission", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(AdmissionProperties properties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.initialLimit(),
+                properties.minLimit(), properties.maxLimit(), properties.latencyThreshold());
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("dataservice.admission.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Current adaptive limit of requests in flight")
+                    .register(registry);
+            Gauge.builder("dataservice.admission.in_flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                    .description("Requests in flight")
+                    .register(registry);
+        });
+        return limiter;
+    }
+
+    // Runs ahead of every other filter, so shed requests cost as little as possible
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionProperties properties,
+                                                                   AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        // A rate of 0 turns off the per-client buckets and keeps the concurrency limit
+        ClientRateLimiter rateLimiter = properties.rate() > 0
+                ? new ClientRateLimiter(properties.rate(), properties.burst(), properties.maxClients())
+                : null;
+        AdmissionFilter filter = new AdmissionFilter(rateLimiter, concurrencyLimiter, properties.clientIdHeader(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/coreProcess/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,81 @@
+package com.liatrio.exercise.dataService.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Sheds load before it reaches the controller: a client over its rate is answered 429 and,
+// once the adaptive limit of requests in flight is reached, further requests are answered
+// 503. Both carry Retry-After and are written without a body, so shedding stays cheap.
+//
+// Streaming responses only count against the concurrency limit until streaming starts.
+public class AdmissionFilter extends OncePerRequestFilter {
+    private final ClientRateLimiter rateLimiter; // null when clients are not rate limited
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final String clientIdHeader;
+    private final Counter rateLimitedCounter;
+    private final Counter overloadedCounter;
+
+    public AdmissionFilter(ClientRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           String clientIdHeader, MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.clientIdHeader = clientIdHeader;
+        this.rateLimitedCounter = rejectedCounter(registry, "rate_limited");
+        this.overloadedCounter = rejectedCounter(registry, "overloaded");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.tryAcquire(clientOf(request));
+            if (waitNanos > 0) {
+                rateLimitedCounter.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+                return;
+            }
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloadedCounter.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    // Clients identify themselves by header; anonymous ones share a bucket per address
+    private String clientOf(HttpServletRequest request) {
+        String client = clientIdHeader == null ? null : request.getHeader(clientIdHeader);
+        return client == null || client.isEmpty() ? request.getRemoteAddr() : client;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentLength(0);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("dataservice.admission.rejected")
+                .description("Requests shed before reaching the controller")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.liatrio.exercise.dataService.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dataservice.admission")
+public record AdmissionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("X-Client-Id") String clientIdHeader,
+        @DefaultValue("200") double rate,
+        @DefaultValue("400") int burst,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("64") int initialLimit,
+        @DefaultValue("8") int minLimit,
+        @DefaultValue("1024") int maxLimit,
+        @DefaultValue("100ms") Duration latencyThreshold) {
+}
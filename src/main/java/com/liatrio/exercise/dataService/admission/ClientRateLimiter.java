@@ -0,0 +1,57 @@
+package com.liatrio.exercise.dataService.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket per client, run as the generic cell rate algorithm: a bucket is a single
+// "theoretical arrival time", the time by which its tokens would all be refilled. Admitting
+// a request pushes that time one emission interval further, with one compare-and-set, and a
+// request is refused when the time would run more than a full bucket ahead of the clock.
+//
+// Buckets of clients that stay away longer than it takes to refill are dropped, and at most
+// maxClients are kept, so the map cannot be exhausted by clients cycling through identities.
+public class ClientRateLimiter {
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets; // Theoretical arrival time per client
+
+    public ClientRateLimiter(double ratePerSecond, int burst, long maxClients) {
+        this(ratePerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    ClientRateLimiter(double ratePerSecond, int burst, long maxClients, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive, were " + ratePerSecond + " and " + burst);
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000 / ratePerSecond));
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    // Takes a token from the client's bucket. Returns 0 when the request is admitted, or
+    // else the nanoseconds until the bucket holds a token again.
+    public long tryAcquire(String client) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival - now < 0 ? now : arrival) + emissionIntervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
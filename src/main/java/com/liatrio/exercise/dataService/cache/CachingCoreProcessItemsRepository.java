@@ -0,0 +1,227 @@
+package com.liatrio.exercise.dataService.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Read-through, write-through cache for single-item operations of a slower repository.
+// Items are cached together with their version so findById and versionOf always answer
+// from the same entry.
+//
+// Every load of an id runs inside a compute on that id's entry, so a concurrent miss is
+// coalesced into one load. Writes run outside it, as a compute holds a map lock for its
+// whole duration and a write may wait for the disk: writes to an id are serialized by a
+// striped lock instead, and then put or drop the entry, which waits for a load in flight
+// so a load can never overwrite a newer write. Batch writes and the collection reads go
+// straight to the repository; batch writes then invalidate the ids they touched.
+public class CachingCoreProcessItemsRepository implements CoreProcessItemsRepository {
+    private static final int WRITE_LOCK_STRIPES = 64; // A power of two
+
+    private final CoreProcessItemsRepository delegate;
+    private final Cache<Long, CachedItem> cache;
+    private final Function<Long, CachedItem> loader = this::load; // Created once rather than per lookup
+    private final ReentrantLock[] writeLocks = new ReentrantLock[WRITE_LOCK_STRIPES];
+
+    public CachingCoreProcessItemsRepository(CoreProcessItemsRepository delegate, Cache<Long, CachedItem> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+        for (int i = 0; i < writeLocks.length; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        CachedItem cached = cache.get(id, loader);
+        return cached == null ? Optional.empty() : Optional.of(cached.item());
+    }
+
+    @Override
+    public OptionalLong versionOf(Long id) {
+        CachedItem cached = cache.get(id, loader);
+        return cached == null ? OptionalLong.empty() : OptionalLong.of(cached.version());
+    }
+
+    // The cache is keyed by boxed IDs, so these box the key but skip the Optional
+    @Override
+    public Item findItem(long id) {
+        CachedItem cached = cache.get(id, loader);
+        return cached == null ? null : cached.item();
+    }
+
+    @Override
+    public long itemVersion(long id) {
+        CachedItem cached = cache.get(id, loader);
+        return cached == null ? NO_VERSION : cached.version();
+    }
+
+    @Override
+    public Item save(Item item) {
+        // A generated ID is not known up front; the first read will load the new item
+        if (item.id() == null) {
+            return delegate.save(item);
+        }
+        return writeItemThrough(item.id(), () -> delegate.save(item));
+    }
+
+    @Override
+    public Item update(Item item) {
+        return writeItemThrough(item.id(), () -> delegate.update(item));
+    }
+
+    @Override
+    public long updateIfVersion(Item item, long expectedVersion) {
+        return writeThrough(item.id(), () -> {
+            long version = delegate.updateIfVersion(item, expectedVersion);
+            return new CachedItem(item, version);
+        }).version();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        ReentrantLock lock = writeLock(id);
+        lock.lock();
+        try {
+            delegate.deleteById(id);
+        } finally {
+            cache.invalidate(id);
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        List<Item> saved;
+        try {
+            saved = delegate.saveAll(items);
+        } catch (RuntimeException e) {
+            // Part of the batch may have been applied. Generated IDs were never cached, so
+            // dropping the given ones is enough.
+            cache.invalidateAll(items.stream().map(Item::id).filter(Objects::nonNull).toList());
+            throw e;
+        }
+        cache.invalidateAll(saved.stream().map(Item::id).toList());
+        return saved;
+    }
+
+    // Invalidated even when the batch fails, as part of it may have been applied
+    @Override
+    public List<Optional<Item>> updateAll(List<Item> items) {
+        try {
+            return delegate.updateAll(items);
+        } finally {
+            cache.invalidateAll(items.stream().map(Item::id).toList());
+        }
+    }
+
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        try {
+            return delegate.deleteAllById(ids);
+        } finally {
+            cache.invalidateAll(ids);
+        }
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Item> findByName(String name, int limit) {
+        return delegate.findByName(name, limit);
+    }
+
+    @Override
+    public List<Item> findByNamePrefix(String prefix, int limit) {
+        return delegate.findByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public Stream<Item> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long version() {
+        return delegate.version();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // The version is read first, so a concurrent write can only make the item newer than it
+    private CachedItem load(Long id) {
+        OptionalLong version = delegate.versionOf(id);
+        if (version.isEmpty()) {
+            return null;
+        }
+        return delegate.findById(id)
+                .map(item -> new CachedItem(item, version.getAsLong()))
+                .orElse(null);
+    }
+
+    private CachedItem writeThrough(Long id, Supplier<CachedItem> write) {
+        ReentrantLock lock = writeLock(id);
+        lock.lock();
+        try {
+            CachedItem written;
+            try {
+                written = write.get();
+            } catch (RuntimeException e) {
+                // The repository may have changed even though the write failed
+                cache.invalidate(id);
+                throw e;
+            }
+            if (written == null) {
+                cache.invalidate(id);
+            } else {
+                cache.put(id, written);
+            }
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock writeLock(long id) {
+        return writeLocks[Long.hashCode(id) & (WRITE_LOCK_STRIPES - 1)];
+    }
+
+    // Writes through repository calls that return the item but not its new version.
+    // Writes to an id are serialized by its write lock, so the version read next is ours.
+    private Item writeItemThrough(Long id, Supplier<Item> write) {
+        Item[] written = new Item[1];
+        writeThrough(id, () -> {
+            written[0] = write.get();
+            OptionalLong version = delegate.versionOf(id);
+            return version.isEmpty() ? null : new CachedItem(written[0], version.getAsLong());
+        });
+        return written[0];
+    }
+
+    public record CachedItem(Item item, long version) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.liatrio.exercise.dataService.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.liatrio.exercise.dataService.dto.ApiResponse;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+// The GET /items response for the full list, encoded once per repository version. Reads
+// of an unchanged repository are served the same immutable bytes; the first read after a
+// mutation re-encodes the list while concurrent readers wait for it.
+//
+// The timestamp of the response is the time the list was read from the repository, so it
+// tells how old the data is rather than when it was requested.
+public class EncodedItemListCache {
+    private final CoreProcessItemsRepository repository;
+    private final ObjectWriter responseWriter;
+    private final boolean gzip;
+    private final ReentrantLock encodeLock = new ReentrantLock();
+    private volatile EncodedItemList current;
+
+    public record EncodedItemList(long version, long timestamp, byte[] json, byte[] gzipped) {
+    }
+
+    public EncodedItemListCache(CoreProcessItemsRepository repository, ObjectMapper objectMapper, boolean gzip) {
+        this.repository = repository;
+        this.responseWriter = objectMapper.writerFor(ApiResponse.class);
+        this.gzip = gzip;
+    }
+
+    public boolean gzips() {
+        return gzip;
+    }
+
+    // The encoded list is current if nothing has been written since its version was read:
+    // the list was read after that, so it holds exactly the data of the version
+    public EncodedItemList get() {
+        EncodedItemList encoded = current;
+        if (encoded != null && encoded.version() == repository.version()) {
+            return encoded;
+        }
+
+        encodeLock.lock();
+        try {
+            long version = repository.version();
+            encoded = current;
+            if (encoded == null || encoded.version() != version) {
+                encoded = encode(version);
+                current = encoded;
+            }
+            return encoded;
+        } finally {
+            encodeLock.unlock();
+        }
+    }
+
+    private EncodedItemList encode(long version) {
+        long timestamp = System.currentTimeMillis();
+        List<Item> items = repository.findAll();
+        try {
+            byte[] json = responseWriter.writeValueAsBytes(new ApiResponse<>(items, timestamp));
+            return new EncodedItemList(version, timestamp, json, gzip ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed, 1 << 16)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,36 @@
+package com.liatrio.exercise.dataService.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepositoryDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+@ConditionalOnProperty(prefix = "dataservice.cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ItemCacheProperties.class)
+public class ItemCacheConfiguration {
+
+    // Caffeine evicts by W-TinyLFU, which keeps the frequently read items of a skewed
+    // workload cached even when a scan of rarely read ones passes through
+    @Bean
+    @Order(0)
+    public CoreProcessItemsRepositoryDecorator cachingRepositoryDecorator(
+            ItemCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        Cache<Long, CachingCoreProcessItemsRepository.CachedItem> cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+
+        // Publishes hit, miss, load and eviction counts as cache_* metrics tagged cache=items
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "items"));
+        return repository -> new CachingCoreProcessItemsRepository(repository, cache);
+    }
+}
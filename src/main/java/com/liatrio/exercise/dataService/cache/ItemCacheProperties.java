@@ -0,0 +1,13 @@
+package com.liatrio.exercise.dataService.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dataservice.cache")
+public record ItemCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("10m") Duration expireAfterWrite) {
+}
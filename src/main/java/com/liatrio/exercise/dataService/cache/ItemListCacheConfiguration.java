@@ -0,0 +1,20 @@
+package com.liatrio.exercise.dataService.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "dataservice.list-cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ItemListCacheProperties.class)
+public class ItemListCacheConfiguration {
+
+    @Bean
+    public EncodedItemListCache encodedItemListCache(CoreProcessItemsRepository repository, ObjectMapper objectMapper,
+                                                     ItemListCacheProperties properties) {
+        return new EncodedItemListCache(repository, objectMapper, properties.gzip());
+    }
+}
@@ -0,0 +1,10 @@
+package com.liatrio.exercise.dataService.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "dataservice.list-cache")
+public record ItemListCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("true") boolean gzip) {
+}
@@ -0,0 +1,22 @@
+package com.liatrio.exercise.dataService.changes;
+
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// A replication leader serves its followers from the change log, so it always keeps one
+@Configuration
+@ConditionalOnExpression("${dataservice.changes.enabled:false} or '${dataservice.replication.role:none}'.equalsIgnoreCase('leader')")
+@EnableConfigurationProperties(ItemChangeProperties.class)
+public class ItemChangeConfiguration {
+
+    // Hooked in after each mutation is applied, so mutations vetoed by the journal are never published
+    @Bean
+    public ItemChangeLog itemChangeLog(InMemoryCoreProcessItemsRepository repository, ItemChangeProperties properties) {
+        ItemChangeLog changeLog = new ItemChangeLog(properties.capacity());
+        repository.setAppliedChangeListener(changeLog);
+        return changeLog;
+    }
+}
@@ -0,0 +1,11 @@
+package com.liatrio.exercise.dataService.changes;
+
+import com.liatrio.exercise.dataService.model.Item;
+
+// item is the state after the change, or null for deletions
+public record ItemChangeEvent(long sequence, Type type, Long id, Item item, long timestamp) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,155 @@
+package com.liatrio.exercise.dataService.changes;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.ItemChangeListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounded, sequence-numbered log of the latest item changes. The repository publishes
+// under its write lock, so there is a single publisher at a time and publishing never
+// blocks: it stores the event in its ring slot and then advances lastSequence. Readers
+// never block the publisher either; they copy events out of the ring and detect from the
+// sequence stored in each event whether the publisher has lapped them.
+public class ItemChangeLog implements ItemChangeListener {
+    private final AtomicReferenceArray<ItemChangeEvent> ring;
+    private final int mask;
+    private volatile long lastSequence; // Only advanced by the publisher, after the event is stored
+
+    // Idle readers park on the condition; the publisher only takes the lock when one is waiting
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition published = waitLock.newCondition();
+    private volatile int waiting; // Guarded by waitLock for writes
+
+    // Sequences restart with the process, so event ids carry the start time to keep ids
+    // handed out by an earlier run from resuming against this one
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public ItemChangeLog(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30, was " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void onCreate(Item item) {
+        publish(ItemChangeEvent.Type.CREATED, item.id(), item);
+    }
+
+    @Override
+    public void onUpdate(Item item) {
+        publish(ItemChangeEvent.Type.UPDATED, item.id(), item);
+    }
+
+    // Repositories that do not tell creates from updates report upserts
+    @Override
+    public void onSave(Item item) {
+        publish(ItemChangeEvent.Type.UPDATED, item.id(), item);
+    }
+
+    @Override
+    public void onDelete(Long id) {
+        publish(ItemChangeEvent.Type.DELETED, id, null);
+    }
+
+    // Callers must be serialized
+    private void publish(ItemChangeEvent.Type type, Long id, Item item) {
+        long sequence = lastSequence + 1;
+        ring.set((int) (sequence & mask), new ItemChangeEvent(sequence, type, id, item, System.currentTimeMillis()));
+        lastSequence = sequence;
+
+        // A reader registers as waiting before it re-checks lastSequence, so either it sees
+        // the new sequence or we see it waiting
+        if (waiting > 0) {
+            waitLock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // Whether every event after the sequence is still held, so a reader can resume from it
+    public boolean canResumeAfter(long after) {
+        long last = lastSequence;
+        return after >= 0 && after <= last && last - after <= capacity();
+    }
+
+    // Appends up to max events following the sequence to out, in order. Returns false, with
+    // out possibly partly filled, if events after the sequence have already been overwritten.
+    public boolean readAfter(long after, int max, List<ItemChangeEvent> out) {
+        if (!canResumeAfter(after)) {
+            return false;
+        }
+        long end = Math.min(lastSequence, after + max);
+        for (long sequence = after + 1; sequence <= end; sequence++) {
+            ItemChangeEvent event = ring.get((int) (sequence & mask));
+            if (event.sequence() != sequence) {
+                return false;
+            }
+            out.add(event);
+        }
+        return true;
+    }
+
+    // Waits until an event follows the sequence or the timeout elapses, returning whether one does
+    public boolean awaitAfter(long after, Duration timeout) throws InterruptedException {
+        if (lastSequence > after) {
+            return true;
+        }
+        long remaining = timeout.toNanos();
+        waitLock.lock();
+        try {
+            waiting++;
+            try {
+                while (lastSequence <= after) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = published.awaitNanos(remaining);
+                }
+                return true;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            waitLock.unlock();
+        }
+    }
+
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // The sequence of an event id handed out by this log, empty for malformed ids or ids of another run
+    public OptionalLong parseEventId(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(eventId.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.liatrio.exercise.dataService.changes;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dataservice.changes")
+public record ItemChangeProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("65536") int capacity,
+        @DefaultValue("15s") Duration keepAliveInterval) {
+}
@@ -1,53 +1,237 @@
 package com.liatrio.exercise.dataService.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.liatrio.exercise.dataService.cache.EncodedItemListCache;
 import com.liatrio.exercise.dataService.dto.ApiResponse;
+import com.liatrio.exercise.dataService.dto.BatchCreateRequest;
+import com.liatrio.exercise.dataService.dto.BatchDeleteRequest;
+import com.liatrio.exercise.dataService.dto.BatchItemResult;
+import com.liatrio.exercise.dataService.dto.BatchUpdateRequest;
 import com.liatrio.exercise.dataService.dto.CreateItemRequest;
 import com.liatrio.exercise.dataService.dto.UpdateItemRequest;
 import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.pipeline.WritePipeline;
+import com.liatrio.exercise.dataService.repository.BatchWriteException;
 import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ItemVersionConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/coreProcess")
 public class CoreProcessController {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BATCH_SIZE = 10_000;
+    static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+    private static final MediaType CBOR_SEQ = MediaType.parseMediaType(APPLICATION_CBOR_SEQ_VALUE);
+    static final String GZIP_TAG_SUFFIX = "-gz";
+    static final String CBOR_TAG_SUFFIX = "-cbor";
     
     private final CoreProcessItemsRepository repository;
+    private final EncodedItemListCache encodedItemList; // null unless the list cache is enabled
+    private final WritePipeline writePipeline; // null unless the write pipeline is enabled
+    private final ObjectWriter itemWriter;
+    private final boolean encodeItems; // false if the configured mapper writes items differently
+    private final ObjectMapper cborMapper;
+    private final ObjectWriter cborItemWriter;
+    private final Counter notFoundCounter;
+    private final Counter badRequestCounter;
+    // Versions are stamped by each instance, so tags only match on the instance that issued
+    // them: never after a restart, nor across a leader and its followers
+    private final String etagPrefix = "\"" + Long.toString(System.currentTimeMillis(), 36) + "-";
     
     @Autowired
-    public CoreProcessController(CoreProcessItemsRepository repository) {
+    public CoreProcessController(CoreProcessItemsRepository repository, ObjectMapper objectMapper,
+                                 Jackson2ObjectMapperBuilder objectMapperBuilder,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 ObjectProvider<EncodedItemListCache> encodedItemList,
+                                 ObjectProvider<WritePipeline> writePipeline) {
         this.repository = repository;
+        this.encodedItemList = encodedItemList.getIfAvailable();
+        this.writePipeline = writePipeline.getIfAvailable();
+        this.itemWriter = objectMapper.writerFor(Item.class);
+        this.encodeItems = ItemResponseEncoder.matches(objectMapper);
+
+        // The builder carries the application's Jackson settings, so CBOR is written like JSON
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        this.cborItemWriter = cborMapper.writerFor(Item.class);
+
+        // Fall back to the global registry where no registry is configured, e.g. in web slice tests
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.notFoundCounter = outcomeCounter(registry, "not_found");
+        this.badRequestCounter = outcomeCounter(registry, "bad_request");
     }
     
     @GetMapping("/items")
-    public ApiResponse<List<Item>> getAllItems() {
-        List<Item> items = repository.findAll();
-        return ApiResponse.of(items);
+    public ResponseEntity<?> getAllItems(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String namePrefix,
+            WebRequest webRequest,
+            HttpServletResponse servletResponse) {
+        boolean search = name != null || namePrefix != null;
+        boolean paged = afterId != null || limit != null;
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if ((paged || search) && (pageSize < 1 || pageSize > MAX_PAGE_SIZE)) {
+            return badRequest();
+        }
+
+        // Searches return the first matches only, so they take a limit but no cursor
+        if ((name != null && namePrefix != null) || (search && afterId != null)) {
+            return badRequest();
+        }
+
+        // The full list may be served pre-encoded, and then gzipped for clients accepting it.
+        // Each format and encoding is a representation of its own, so it gets a tag of its own.
+        boolean cbor = prefersCbor(webRequest.getHeader(HttpHeaders.ACCEPT));
+        boolean encoded = !paged && !search && encodedItemList != null && !cbor;
+        boolean gzipped = encoded && encodedItemList.gzips()
+                && acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String tagSuffix = cbor ? CBOR_TAG_SUFFIX : gzipped ? GZIP_TAG_SUFFIX : "";
+        String vary = encoded ? HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING : HttpHeaders.ACCEPT;
+        servletResponse.setHeader(HttpHeaders.VARY, vary); // Also on a 304
+
+        // Answer 304 from the repository version alone, without reading or serializing the items
+        if (webRequest.checkNotModified(etag(repository.version(), tagSuffix))) {
+            return null;
+        }
+
+        if (name != null) {
+            return inFormat(ResponseEntity.ok(), cbor).body(ApiResponse.of(repository.findByName(name, pageSize)));
+        }
+        if (namePrefix != null) {
+            return inFormat(ResponseEntity.ok(), cbor)
+                    .body(ApiResponse.of(repository.findByNamePrefix(namePrefix, pageSize)));
+        }
+
+        // Without paging parameters keep returning the full list
+        if (!paged) {
+            if (encoded) {
+                return encodedItemList(gzipped);
+            }
+            return inFormat(ResponseEntity.ok(), cbor).body(ApiResponse.of(repository.findAll()));
+        }
+
+        List<Item> page = repository.findPage(afterId, pageSize);
+        if (page.size() < pageSize) {
+            return inFormat(ResponseEntity.ok(), cbor).body(ApiResponse.of(page));
+        }
+
+        // A full page may have more behind it, so point at the next one
+        URI next = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .replaceQueryParam("afterId", page.get(page.size() - 1).id())
+                .replaceQueryParam("limit", pageSize)
+                .build()
+                .toUri();
+
+        return inFormat(ResponseEntity.ok(), cbor)
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(ApiResponse.of(page));
+    }
+
+    @GetMapping(value = "/items", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllItems(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (prefersCborSequence(accept)) {
+            StreamingResponseBody body = this::writeCborSequence;
+            return ResponseEntity.ok()
+                    .contentType(CBOR_SEQ)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(body);
+        }
+
+        // Write one JSON item per line as the repository is walked, never holding the full list
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Item> items = repository.streamAll()) {
+                Iterator<Item> iterator = items.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(itemWriter.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
     }
     
+    // Looked up by primitive ID and encoded without the message converters, so a request
+    // allocates little beyond its response bytes
     @GetMapping("/items/{id}")
-    public ResponseEntity<ApiResponse<Item>> getItemById(@PathVariable Long id) {
-        return repository.findById(id)
-                .map(item -> ResponseEntity.ok(ApiResponse.of(item)))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> getItemById(@PathVariable long id, WebRequest webRequest,
+                                         HttpServletResponse servletResponse) {
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        long version = repository.itemVersion(id);
+        if (version != CoreProcessItemsRepository.NO_VERSION) {
+            servletResponse.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT); // Also on a 304
+            if (webRequest.checkNotModified(etag(version, formatTagSuffix(accept)))) {
+                return null;
+            }
+        }
+
+        Item item = repository.findItem(id);
+        if (item == null) {
+            return notFound();
+        }
+        return itemResponse(ResponseEntity.ok(), item, accept);
     }
     
     @PostMapping("/items")
     public ResponseEntity<ApiResponse<Item>> createItem(@RequestBody CreateItemRequest request) {
         // Validate request
         if (request == null || request.name() == null || request.name().trim().isEmpty()) {
-            return ResponseEntity.badRequest().build();
+            return badRequest();
         }
         
         // Create new item
         Item newItem = new Item(null, request.name());
-        Item savedItem = repository.save(newItem);
+        Item savedItem;
+        try {
+            savedItem = writePipeline == null ? repository.save(newItem) : await(writePipeline.save(newItem));
+        } catch (RejectedExecutionException | TimeoutException e) {
+            return serviceUnavailable();
+        }
         
         // Build location URI
         URI location = ServletUriComponentsBuilder
@@ -68,33 +252,401 @@ public class CoreProcessController {
             repository.deleteById(id);
             return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
+            return notFound();
         }
     }
 
     @PatchMapping("/items/{id}")
-    public ResponseEntity<ApiResponse<Item>> updateItem(@PathVariable Long id, @RequestBody UpdateItemRequest request) {
+    public ResponseEntity<?> updateItem(
+            @PathVariable long id,
+            @RequestBody UpdateItemRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         // Validate request
         if (request == null || request.name() == null || request.name().trim().isEmpty()) {
-            return ResponseEntity.badRequest().build();
+            return badRequest();
         }
-        
+
+        Item updatedItem = new Item(id, request.name());
+        boolean anyVersion = ifMatch != null && ifMatch.trim().equals("*");
+        if (ifMatch != null && !anyVersion) {
+            return updateItemIfMatch(updatedItem, ifMatch, accept);
+        }
+
+        // Queued updates report a missing item themselves, so there is no need to look it up first
+        Item savedItem;
+        if (writePipeline != null) {
+            try {
+                savedItem = await(writePipeline.update(updatedItem)).orElse(null);
+            } catch (RejectedExecutionException | TimeoutException e) {
+                return serviceUnavailable();
+            }
+        } else {
+            // The repository reports a missing item itself, so there is no lookup first here either
+            try {
+                savedItem = repository.update(updatedItem);
+            } catch (IllegalArgumentException e) {
+                savedItem = null;
+            }
+        }
+
+        // If-Match: * only holds when the item exists
+        if (savedItem == null) {
+            return anyVersion ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build() : notFound();
+        }
+        return itemResponse(okWithVersionOf(savedItem, accept), savedItem, accept);
+    }
+
+    // The version check and the write happen atomically in the repository, so a concurrent
+    // writer between the client's read and this update is detected instead of overwritten
+    private ResponseEntity<?> updateItemIfMatch(Item item, String ifMatch, String accept) {
+        for (String tag : ifMatch.split(",")) {
+            OptionalLong expectedVersion = parseEtag(tag.trim());
+            if (expectedVersion.isEmpty()) {
+                continue;
+            }
+
+            try {
+                long version = repository.updateIfVersion(item, expectedVersion.getAsLong());
+                return itemResponse(ResponseEntity.ok().eTag(etag(version, formatTagSuffix(accept))), item, accept);
+            } catch (ItemVersionConflictException e) {
+                // Try the next tag, if any
+            } catch (IllegalArgumentException e) {
+                return notFound();
+            }
+        }
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    @PostMapping("/items:batch")
+    public ResponseEntity<ApiResponse<List<BatchItemResult>>> createItems(@RequestBody BatchCreateRequest request) {
+        // Validate request
+        if (request == null || !isValidBatch(request.items())) {
+            return badRequest();
+        }
+
+        // Reject invalid entries individually and save the rest in a single call
+        List<CreateItemRequest> entries = request.items();
+        BatchItemResult[] results = new BatchItemResult[entries.size()];
+        List<Item> toSave = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            CreateItemRequest entry = entries.get(i);
+            if (entry == null || !isValidName(entry.name())) {
+                results[i] = new BatchItemResult(null, HttpStatus.BAD_REQUEST.value(), null);
+            } else {
+                toSave.add(new Item(null, entry.name()));
+            }
+        }
+
+        List<Item> applied;
         try {
-            // Find the item
-            Optional<Item> existingItemOpt = repository.findById(id);
-            if (existingItemOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            // Update the item
-            Item existingItem = existingItemOpt.get();
-            Item updatedItem = new Item(existingItem.id(), request.name());
-            Item savedItem = repository.update(updatedItem);
-            
-            // Return updated item
-            return ResponseEntity.ok(ApiResponse.of(savedItem));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
+            applied = repository.saveAll(toSave);
+        } catch (BatchWriteException e) {
+            applied = appliedEntries(e);
+        }
+        Iterator<Item> saved = applied.iterator();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                if (!saved.hasNext()) {
+                    results[i] = notApplied(null);
+                    continue;
+                }
+                Item item = saved.next();
+                results[i] = new BatchItemResult(item.id(), HttpStatus.CREATED.value(), item);
+            }
+        }
+
+        return ResponseEntity.ok(ApiResponse.of(Arrays.asList(results)));
+    }
+
+    @PatchMapping("/items:batch")
+    public ResponseEntity<ApiResponse<List<BatchItemResult>>> updateItems(@RequestBody BatchUpdateRequest request) {
+        // Validate request
+        if (request == null || !isValidBatch(request.items())) {
+            return badRequest();
+        }
+
+        List<BatchUpdateRequest.Entry> entries = request.items();
+        BatchItemResult[] results = new BatchItemResult[entries.size()];
+        List<Item> toUpdate = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BatchUpdateRequest.Entry entry = entries.get(i);
+            if (entry == null || entry.id() == null || !isValidName(entry.name())) {
+                Long id = entry == null ? null : entry.id();
+                results[i] = new BatchItemResult(id, HttpStatus.BAD_REQUEST.value(), null);
+            } else {
+                toUpdate.add(new Item(entry.id(), entry.name()));
+            }
+        }
+
+        Iterator<Item> requested = toUpdate.iterator();
+        List<Optional<Item>> applied;
+        try {
+            applied = repository.updateAll(toUpdate);
+        } catch (BatchWriteException e) {
+            applied = appliedEntries(e);
+        }
+        Iterator<Optional<Item>> updated = applied.iterator();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                Long id = requested.next().id();
+                if (!updated.hasNext()) {
+                    results[i] = notApplied(id);
+                    continue;
+                }
+                results[i] = updated.next()
+                        .map(item -> new BatchItemResult(id, HttpStatus.OK.value(), item))
+                        .orElse(new BatchItemResult(id, HttpStatus.NOT_FOUND.value(), null));
+            }
+        }
+
+        return ResponseEntity.ok(ApiResponse.of(Arrays.asList(results)));
+    }
+
+    @DeleteMapping("/items:batch")
+    public ResponseEntity<ApiResponse<List<BatchItemResult>>> deleteItems(@RequestBody BatchDeleteRequest request) {
+        // Validate request
+        if (request == null || !isValidBatch(request.ids())) {
+            return badRequest();
         }
+
+        List<Long> ids = request.ids();
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Long> toDelete = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = new BatchItemResult(null, HttpStatus.BAD_REQUEST.value(), null);
+            } else {
+                toDelete.add(ids.get(i));
+            }
+        }
+
+        Iterator<Long> requested = toDelete.iterator();
+        List<Boolean> applied;
+        try {
+            applied = repository.deleteAllById(toDelete);
+        } catch (BatchWriteException e) {
+            applied = appliedEntries(e);
+        }
+        Iterator<Boolean> deleted = applied.iterator();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                Long id = requested.next();
+                if (!deleted.hasNext()) {
+                    results[i] = notApplied(id);
+                    continue;
+                }
+                HttpStatus status = deleted.next() ? HttpStatus.OK : HttpStatus.NOT_FOUND;
+                results[i] = new BatchItemResult(id, status.value(), null);
+            }
+        }
+
+        return ResponseEntity.ok(ApiResponse.of(Arrays.asList(results)));
+    }
+
+    // A batch that failed part way still answers for the entries it applied; the failed entry
+    // and the ones behind it are reported as failed, as the write pipeline reports them
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> appliedEntries(BatchWriteException e) {
+        return (List<T>) e.applied();
+    }
+
+    private static BatchItemResult notApplied(Long id) {
+        return new BatchItemResult(id, HttpStatus.INTERNAL_SERVER_ERROR.value(), null);
+    }
+
+    // A CBOR sequence (RFC 8742) of items: one CBOR item after another, encoded straight
+    // into the response as the repository is walked
+    private void writeCborSequence(OutputStream outputStream) throws IOException {
+        try (Stream<Item> items = repository.streamAll();
+             JsonGenerator generator = cborMapper.getFactory().createGenerator(outputStream)) {
+            Iterator<Item> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                cborItemWriter.writeValue(generator, iterator.next());
+            }
+        }
+    }
+
+    // Parks the request thread until the write pipeline has applied its write, rethrowing what
+    // the write failed with. Parking is cheap with virtual threads, and creates and plain
+    // updates then reach the store through the pipeline's writer alone; conditional updates,
+    // deletes and the batch endpoints still write to it directly. A write not applied within
+    // the write timeout is given up on, although the writer may still apply it later.
+    private <T> T await(CompletableFuture<T> write) throws TimeoutException {
+        try {
+            return write.get(writePipeline.writeTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a write", e);
+        }
+    }
+
+    // Tags the response to an unconditional write with the item's version, read back after
+    // the write. The version is read before the item, so when the item still matches what was
+    // written the tag is either its version or one a later write has already made stale,
+    // which no If-Match can match again. Otherwise the response goes without a tag.
+    private ResponseEntity.BodyBuilder okWithVersionOf(Item written, String accept) {
+        long version = repository.itemVersion(written.id());
+        Item current = repository.findItem(written.id());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (version != CoreProcessItemsRepository.NO_VERSION && written.equals(current)) {
+            response.eTag(etag(version, formatTagSuffix(accept)));
+        }
+        return response;
+    }
+
+    // A single item as JSON bytes where the client accepts JSON and the encoder writes what the
+    // configured mapper would. Otherwise the message converters write it, or answer 406 when
+    // they have no acceptable format.
+    private ResponseEntity<?> itemResponse(ResponseEntity.BodyBuilder response, Item item, String accept) {
+        response.varyBy(HttpHeaders.ACCEPT);
+        if (prefersCbor(accept)) {
+            return response.contentType(MediaType.APPLICATION_CBOR).body(ApiResponse.of(item));
+        }
+        if (encodeItems && acceptsJson(accept)) {
+            return response.contentType(MediaType.APPLICATION_JSON)
+                    .body(ItemResponseEncoder.encode(item, System.currentTimeMillis()));
+        }
+        return response.body(ApiResponse.of(item));
+    }
+
+    // Fixes the format the converters write in to the one the response is tagged for
+    private static ResponseEntity.BodyBuilder inFormat(ResponseEntity.BodyBuilder response, boolean cbor) {
+        return cbor ? response.contentType(MediaType.APPLICATION_CBOR) : response;
+    }
+
+    // Writes the pre-encoded response as is, compressed if gzip was negotiated
+    private ResponseEntity<byte[]> encodedItemList(boolean gzipped) {
+        EncodedItemListCache.EncodedItemList encoded = encodedItemList.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzipped());
+        }
+        return response.body(encoded.json());
+    }
+
+    // Strong tag for a repository or item version. Versions restart with the process, so the
+    // tag carries the start time to keep tags handed out by an earlier run from matching.
+    // The suffix tells the representations of the same version apart.
+    private String etag(long version, String suffix) {
+        return etagPrefix + version + suffix + "\"";
+    }
+
+    // The JSON and the CBOR representation of an item are sent with different tags
+    private static String formatTagSuffix(String accept) {
+        return prefersCbor(accept) ? CBOR_TAG_SUFFIX : "";
+    }
+
+    // The version a tag of any representation of an item stands for
+    private OptionalLong parseEtag(String tag) {
+        if (!tag.startsWith(etagPrefix) || !tag.endsWith("\"") || tag.length() <= etagPrefix.length() + 1) {
+            return OptionalLong.empty();
+        }
+        String version = tag.substring(etagPrefix.length(), tag.length() - 1);
+        if (version.endsWith(CBOR_TAG_SUFFIX)) {
+            version = version.substring(0, version.length() - CBOR_TAG_SUFFIX.length());
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(version));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private <T> ResponseEntity<T> notFound() {
+        notFoundCounter.increment();
+        return ResponseEntity.notFound().build();
+    }
+
+    private <T> ResponseEntity<T> badRequest() {
+        badRequestCounter.increment();
+        return ResponseEntity.badRequest().build();
+    }
+
+    // The write queue is full or behind: ask the client to back off briefly rather than queue up further
+    private <T> ResponseEntity<T> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("dataservice.api.responses")
+                .description("Requests answered with a client error")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static boolean isValidBatch(List<?> entries) {
+        return entries != null && !entries.isEmpty() && entries.size() <= MAX_BATCH_SIZE;
+    }
+
+    // CBOR is only sent to clients that ask for it by name at least as strongly as for
+    // anything else, so clients accepting */* keep getting JSON
+    // CBOR for single responses, or a CBOR sequence for streams, each named exactly
+    private static boolean prefersCbor(String accept) {
+        return prefers(accept, MediaType.APPLICATION_CBOR);
+    }
+
+    private static boolean prefersCborSequence(String accept) {
+        return prefers(accept, CBOR_SEQ);
+    }
+
+    private static boolean prefers(String accept, MediaType format) {
+        if (accept == null || !accept.contains("cbor")) {
+            return false;
+        }
+        double preferred = 0;
+        double other = 0;
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (mediaType.equalsTypeAndSubtype(format)) {
+                    preferred = Math.max(preferred, mediaType.getQualityValue());
+                } else {
+                    other = Math.max(other, mediaType.getQualityValue());
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false; // Left to the converters to reject
+        }
+        return preferred > 0 && preferred >= other;
+    }
+
+    private static boolean acceptsJson(String accept) {
+        if (accept == null || accept.equals("*/*") || accept.equals(MediaType.APPLICATION_JSON_VALUE)) {
+            return true;
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (mediaType.getQualityValue() > 0 && mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Left to the converters to reject
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean isValidName(String name) {
+        return name != null && !name.trim().isEmpty();
     }
 }
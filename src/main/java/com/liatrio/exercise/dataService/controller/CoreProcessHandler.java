@@ -0,0 +1,207 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.liatrio.exercise.dataService.dto.ApiResponse;
+import com.liatrio.exercise.dataService.dto.CreateItemRequest;
+import com.liatrio.exercise.dataService.dto.UpdateItemRequest;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.ReactiveCoreProcessItemsRepository;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+// Reactive counterpart of CoreProcessController, serving the same paths and responses
+// when the application runs as a reactive web application
+public class CoreProcessHandler {
+    private static final byte[] LIST_START = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+
+    private final ReactiveCoreProcessItemsRepository repository;
+    private final ObjectWriter itemWriter;
+
+    public CoreProcessHandler(ReactiveCoreProcessItemsRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.itemWriter = objectMapper.writerFor(Item.class);
+    }
+
+    // Takes the paging and search parameters of the MVC controller and checks them the same way
+    public Mono<ServerResponse> getAllItems(ServerRequest request) {
+        Optional<String> name = request.queryParam("name");
+        Optional<String> namePrefix = request.queryParam("namePrefix");
+        Long afterId;
+        Integer limit;
+        try {
+            afterId = request.queryParam("afterId").map(Long::valueOf).orElse(null);
+            limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+
+        boolean search = name.isPresent() || namePrefix.isPresent();
+        boolean paged = afterId != null || limit != null;
+        int pageSize = limit == null ? CoreProcessController.DEFAULT_PAGE_SIZE : limit;
+        if ((paged || search) && (pageSize < 1 || pageSize > CoreProcessController.MAX_PAGE_SIZE)) {
+            return ServerResponse.badRequest().build();
+        }
+
+        // Searches return the first matches only, so they take a limit but no cursor
+        if ((name.isPresent() && namePrefix.isPresent()) || (search && afterId != null)) {
+            return ServerResponse.badRequest().build();
+        }
+
+        if (name.isPresent()) {
+            return repository.findByName(name.get(), pageSize).flatMap(CoreProcessHandler::listResponse);
+        }
+        if (namePrefix.isPresent()) {
+            return repository.findByNamePrefix(namePrefix.get(), pageSize).flatMap(CoreProcessHandler::listResponse);
+        }
+        if (!paged) {
+            return fullList();
+        }
+
+        return repository.findPage(afterId, pageSize).flatMap(page -> {
+            if (page.size() < pageSize) {
+                return listResponse(page);
+            }
+
+            // A full page may have more behind it, so point at the next one
+            URI next = request.uriBuilder()
+                    .replaceQueryParam("afterId", page.get(page.size() - 1).id())
+                    .replaceQueryParam("limit", pageSize)
+                    .build();
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                    .bodyValue(ApiResponse.of(page));
+        });
+    }
+
+    private Mono<ServerResponse> fullList() {
+        // The ApiResponse envelope is written around the items as they are pulled from the
+        // repository, so the full list is never held. Its timestamp is the time the list was
+        // read, as it is for the MVC list cache.
+        Flux<DataBuffer> body = Flux.defer(() -> {
+            long timestamp = System.currentTimeMillis();
+            return Flux.concat(
+                    Mono.fromSupplier(() -> buffer(LIST_START)),
+                    repository.findAll().index().map(entry -> buffer(listEntry(entry.getT1(), entry.getT2()))),
+                    Mono.fromSupplier(() -> buffer(("],\"timestamp\":" + timestamp + "}")
+                            .getBytes(StandardCharsets.UTF_8))));
+        });
+
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(body));
+    }
+
+    private static Mono<ServerResponse> listResponse(List<Item> items) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.of(items));
+    }
+
+    public Mono<ServerResponse> streamAllItems(ServerRequest request) {
+        // Items are pulled from the repository only as fast as the client consumes them
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(repository.findAll(), Item.class);
+    }
+
+    public Mono<ServerResponse> getItemById(ServerRequest request) {
+        Long id = pathId(request);
+        if (id == null) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return repository.findById(id)
+                .flatMap(item -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ApiResponse.of(item)))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> createItem(ServerRequest request) {
+        return request.bodyToMono(CreateItemRequest.class)
+                .filter(body -> isValidName(body.name()))
+                .flatMap(body -> repository.save(new Item(null, body.name())))
+                .flatMap(savedItem -> ServerResponse
+                        .created(request.uriBuilder().path("/{id}").build(savedItem.id()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ApiResponse.of(savedItem)))
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+    public Mono<ServerResponse> deleteItem(ServerRequest request) {
+        Long id = pathId(request);
+        if (id == null) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return repository.deleteById(id)
+                .then(ServerResponse.ok().build())
+                .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> updateItem(ServerRequest request) {
+        Long id = pathId(request);
+        if (id == null) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return request.bodyToMono(UpdateItemRequest.class)
+                .filter(body -> isValidName(body.name()))
+                .flatMap(body -> repository.update(new Item(id, body.name()))
+                        .flatMap(savedItem -> ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(ApiResponse.of(savedItem)))
+                        .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.notFound().build()))
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+    // An item of the data array, after a comma unless it is the first
+    private byte[] listEntry(long index, Item item) {
+        byte[] json;
+        try {
+            json = itemWriter.writeValueAsBytes(item);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (index == 0) {
+            return json;
+        }
+        byte[] entry = new byte[json.length + 1];
+        entry[0] = ',';
+        System.arraycopy(json, 0, entry, 1, json.length);
+        return entry;
+    }
+
+    private static DataBuffer buffer(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+
+    // Null when the ID is not a number, which the MVC controller answers with 400 too
+    private static Long pathId(ServerRequest request) {
+        try {
+            return Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isValidName(String name) {
+        return name != null && !name.trim().isEmpty();
+    }
+}
@@ -0,0 +1,44 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.repository.BlockingReactiveCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ReactiveCoreProcessItemsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.scheduler.Schedulers;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+
+// Active with spring.main.web-application-type=reactive, in place of CoreProcessController
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CoreProcessRouter {
+
+    @Bean
+    public ReactiveCoreProcessItemsRepository reactiveCoreProcessItemsRepository(CoreProcessItemsRepository repository) {
+        return new BlockingReactiveCoreProcessItemsRepository(repository, Schedulers.boundedElastic());
+    }
+
+    @Bean
+    public CoreProcessHandler coreProcessHandler(ReactiveCoreProcessItemsRepository repository,
+                                                 ObjectMapper objectMapper) {
+        return new CoreProcessHandler(repository, objectMapper);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> coreProcessRoutes(CoreProcessHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/coreProcess/items", queryParam("stream", "true"::equals), handler::streamAllItems)
+                .GET("/api/coreProcess/items", handler::getAllItems)
+                .POST("/api/coreProcess/items", handler::createItem)
+                .GET("/api/coreProcess/items/{id}", handler::getItemById)
+                .PATCH("/api/coreProcess/items/{id}", handler::updateItem)
+                .DELETE("/api/coreProcess/items/{id}", handler::deleteItem)
+                .build();
+    }
+}
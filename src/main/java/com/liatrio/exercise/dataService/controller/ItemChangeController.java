@@ -0,0 +1,107 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.liatrio.exercise.dataService.changes.ItemChangeEvent;
+import com.liatrio.exercise.dataService.changes.ItemChangeLog;
+import com.liatrio.exercise.dataService.changes.ItemChangeProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "dataservice.changes", name = "enabled", havingValue = "true")
+@RequestMapping("/api/coreProcess")
+public class ItemChangeController {
+
+    static final int SEND_BATCH_SIZE = 256;
+
+    private final ItemChangeLog changeLog;
+    private final Duration keepAliveInterval;
+
+    public ItemChangeController(ItemChangeLog changeLog, ItemChangeProperties properties) {
+        this.changeLog = changeLog;
+        this.keepAliveInterval = properties.keepAliveInterval();
+    }
+
+    // Streams changes after the given event id, from the Last-Event-ID header a reconnecting
+    // EventSource sends or from lastEventId, or live changes when neither is given. Answers
+    // 410 Gone when the changes after the id are no longer held, so the client has to reload.
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        long after;
+        if (lastEventId == null) {
+            after = changeLog.lastSequence();
+        } else {
+            OptionalLong sequence = changeLog.parseEventId(lastEventId.trim());
+            if (sequence.isEmpty() || !changeLog.canResumeAfter(sequence.getAsLong())) {
+                return ResponseEntity.status(HttpStatus.GONE).build();
+            }
+            after = sequence.getAsLong();
+        }
+
+        // No timeout: the stream stays open until the client goes away, which the keepalives detect
+        SseEmitter emitter = new SseEmitter(0L);
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onError(error -> open.set(false));
+
+        Thread.ofVirtual().name("item-changes-" + after).start(() -> send(emitter, open, after));
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void send(SseEmitter emitter, AtomicBoolean open, long after) {
+        long cursor = after;
+        List<ItemChangeEvent> batch = new ArrayList<>(SEND_BATCH_SIZE);
+        try {
+            // Tell the client where it starts, so it can resume even if it drops before the first change
+            emitter.send(SseEmitter.event().id(changeLog.eventId(cursor)).name("subscribed").data(cursor));
+
+            while (open.get()) {
+                batch.clear();
+                if (!changeLog.readAfter(cursor, SEND_BATCH_SIZE, batch)) {
+                    // Lapped by the publisher: end the stream, and resuming will answer 410
+                    emitter.complete();
+                    return;
+                }
+                if (batch.isEmpty()) {
+                    if (!changeLog.awaitAfter(cursor, keepAliveInterval)) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    }
+                    continue;
+                }
+                for (ItemChangeEvent event : batch) {
+                    emitter.send(SseEmitter.event()
+                            .id(changeLog.eventId(event.sequence()))
+                            .name(event.type().name().toLowerCase(Locale.ROOT))
+                            .data(event, MediaType.APPLICATION_JSON));
+                    cursor = event.sequence();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client has gone away or the emitter has already completed
+            emitter.completeWithError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.dto.ApiResponse;
+import com.liatrio.exercise.dataService.model.Item;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+// Encodes the JSON of an ApiResponse holding a single item, as the ObjectMapper would
+// write it, straight into a byte array of the exact size. The array is the only object
+// allocated: the length is measured in a first pass over the fields and the bytes are
+// written in a second, without intermediate strings or buffers.
+public final class ItemResponseEncoder {
+    private static final byte[] DATA_ID = bytes("{\"data\":{\"id\":");
+    private static final byte[] NAME = bytes(",\"name\":");
+    private static final byte[] TIMESTAMP = bytes("},\"timestamp\":");
+    private static final byte[] NULL = bytes("null");
+    private static final byte[] HEX = bytes("0123456789ABCDEF");
+    private static final List<Item> PROBES = List.of(
+            new Item(-1L, "Probe \" \\ \n \u0001 é 漢 😀"),
+            new Item(null, null));
+
+    private ItemResponseEncoder() {
+    }
+
+    public static byte[] encode(Item item, long timestamp) {
+        Long id = item.id();
+        String name = item.name();
+        int length = DATA_ID.length + (id == null ? NULL.length : digits(id))
+                + NAME.length + (name == null ? NULL.length : quotedLength(name))
+                + TIMESTAMP.length + digits(timestamp) + 1;
+
+        byte[] json = new byte[length];
+        int at = put(json, 0, DATA_ID);
+        at = id == null ? put(json, at, NULL) : putLong(json, at, id);
+        at = put(json, at, NAME);
+        at = name == null ? put(json, at, NULL) : putQuoted(json, at, name);
+        at = put(json, at, TIMESTAMP);
+        at = putLong(json, at, timestamp);
+        json[at] = '}';
+        return json;
+    }
+
+    // Whether the mapper writes single-item responses as encode does, tried on items with
+    // nulls, escapes and characters beyond ASCII. Settings such as non-null inclusion or a
+    // naming strategy make it write them differently.
+    public static boolean matches(ObjectMapper objectMapper) {
+        try {
+            for (Item probe : PROBES) {
+                if (!Arrays.equals(encode(probe, 1L), objectMapper.writeValueAsBytes(new ApiResponse<>(probe, 1L)))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    private static int digits(long value) {
+        int length = value < 0 ? 2 : 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            length++;
+        }
+        return length;
+    }
+
+    // Digits are taken from the negative value, which also covers Long.MIN_VALUE
+    private static int putLong(byte[] json, int at, long value) {
+        int end = at + digits(value);
+        long rest = value < 0 ? value : -value;
+        int position = end;
+        do {
+            json[--position] = (byte) ('0' - rest % 10);
+            rest /= 10;
+        } while (rest != 0);
+        if (value < 0) {
+            json[--position] = '-';
+        }
+        return end;
+    }
+
+    // Escapes quotes, backslashes and control characters, and, like Jackson by default, the
+    // surrogates of characters outside the BMP; everything else is written as UTF-8
+    private static int quotedLength(String value) {
+        int length = 2;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += shortEscape(c) != 0 ? 2 : 6;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                length += 6;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int putQuoted(byte[] json, int at, String value) {
+        json[at++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json[at++] = '\\';
+                json[at++] = (byte) c;
+            } else if (c < 0x20) {
+                char escape = shortEscape(c);
+                json[at++] = '\\';
+                if (escape != 0) {
+                    json[at++] = (byte) escape;
+                } else {
+                    at = putUnicodeEscape(json, at, c);
+                }
+            } else if (c < 0x80) {
+                json[at++] = (byte) c;
+            } else if (c < 0x800) {
+                json[at++] = (byte) (0xC0 | (c >> 6));
+                json[at++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                json[at++] = '\\';
+                at = putUnicodeEscape(json, at, c);
+            } else {
+                json[at++] = (byte) (0xE0 | (c >> 12));
+                json[at++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                json[at++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        json[at++] = '"';
+        return at;
+    }
+
+    private static int putUnicodeEscape(byte[] json, int at, char c) {
+        json[at++] = 'u';
+        json[at++] = HEX[(c >> 12) & 0xF];
+        json[at++] = HEX[(c >> 8) & 0xF];
+        json[at++] = HEX[(c >> 4) & 0xF];
+        json[at++] = HEX[c & 0xF];
+        return at;
+    }
+
+    private static char shortEscape(char c) {
+        return switch (c) {
+            case '\b' -> 'b';
+            case '\t' -> 't';
+            case '\n' -> 'n';
+            case '\f' -> 'f';
+            case '\r' -> 'r';
+            default -> 0;
+        };
+    }
+
+    private static int put(byte[] json, int at, byte[] bytes) {
+        System.arraycopy(bytes, 0, json, at, bytes.length);
+        return at + bytes.length;
+    }
+
+    private static byte[] bytes(String ascii) {
+        return ascii.getBytes(StandardCharsets.US_ASCII);
+    }
+}
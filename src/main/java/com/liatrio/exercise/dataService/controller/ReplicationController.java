@@ -0,0 +1,97 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.liatrio.exercise.dataService.changes.ItemChangeEvent;
+import com.liatrio.exercise.dataService.changes.ItemChangeLog;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.replication.ChangeBatch;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+// The leader's side of replication: a snapshot to start from and the change log to follow
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "dataservice.replication", name = "role", havingValue = "leader")
+@RequestMapping("/api/replication")
+public class ReplicationController {
+
+    static final int MAX_BATCH_SIZE = 4096;
+    static final long MAX_WAIT_MILLIS = 60_000;
+
+    private final CoreProcessItemsRepository repository;
+    private final ItemChangeLog changeLog;
+    private final ObjectWriter itemWriter;
+
+    public ReplicationController(CoreProcessItemsRepository repository, ItemChangeLog changeLog, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.changeLog = changeLog;
+        this.itemWriter = objectMapper.writerFor(Item.class);
+    }
+
+    // Every item as NDJSON, with the change log position read before the items were
+    @GetMapping("/snapshot")
+    public ResponseEntity<StreamingResponseBody> snapshot() {
+        String position = changeLog.eventId(changeLog.lastSequence());
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Item> items = repository.streamAll()) {
+                Iterator<Item> iterator = items.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(itemWriter.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(ChangeBatch.POSITION_HEADER, position)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Up to limit changes after the position, waiting up to waitMillis for the first one.
+    // Answers 410 Gone when they are no longer held, so the follower has to load a snapshot.
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeBatch> changes(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "1024") int limit,
+            @RequestParam(defaultValue = "0") long waitMillis) throws InterruptedException {
+        if (limit < 1 || limit > MAX_BATCH_SIZE || waitMillis < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        OptionalLong sequence = changeLog.parseEventId(after);
+        if (sequence.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        long cursor = sequence.getAsLong();
+
+        List<ItemChangeEvent> events = new ArrayList<>();
+        if (!changeLog.readAfter(cursor, limit, events)) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        if (events.isEmpty() && changeLog.awaitAfter(cursor, Duration.ofMillis(Math.min(waitMillis, MAX_WAIT_MILLIS)))
+                && !changeLog.readAfter(cursor, limit, events)) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        long last = events.isEmpty() ? cursor : events.get(events.size() - 1).sequence();
+        return ResponseEntity.ok(new ChangeBatch(changeLog.eventId(last), events));
+    }
+}
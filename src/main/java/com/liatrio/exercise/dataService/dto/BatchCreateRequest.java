@@ -0,0 +1,6 @@
+package com.liatrio.exercise.dataService.dto;
+
+import java.util.List;
+
+public record BatchCreateRequest(List<CreateItemRequest> items) {
+}
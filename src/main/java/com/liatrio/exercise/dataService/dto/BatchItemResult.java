@@ -0,0 +1,7 @@
+package com.liatrio.exercise.dataService.dto;
+
+import com.liatrio.exercise.dataService.model.Item;
+
+// Outcome of one entry in a batch request, in the same position as the request entry
+public record BatchItemResult(Long id, int status, Item data) {
+}
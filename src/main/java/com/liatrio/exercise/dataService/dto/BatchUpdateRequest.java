@@ -0,0 +1,8 @@
+package com.liatrio.exercise.dataService.dto;
+
+import java.util.List;
+
+public record BatchUpdateRequest(List<Entry> items) {
+    public record Entry(Long id, String name) {
+    }
+}
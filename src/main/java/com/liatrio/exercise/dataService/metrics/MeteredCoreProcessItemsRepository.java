@@ -0,0 +1,222 @@
+package com.liatrio.exercise.dataService.metrics;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Times every operation of the wrapped repository and reports how many items it holds.
+// Timers are registered once up front, so a call costs two nanoTime reads and a record.
+public class MeteredCoreProcessItemsRepository implements CoreProcessItemsRepository {
+    static final String OPERATION_TIMER = "dataservice.repository.operations";
+    static final String ITEM_COUNT_GAUGE = "dataservice.repository.items";
+
+    private final CoreProcessItemsRepository delegate;
+    private final Timer findAllTimer;
+    private final Timer findByIdTimer;
+    private final Timer saveTimer;
+    private final Timer deleteByIdTimer;
+    private final Timer updateTimer;
+    private final Timer saveAllTimer;
+    private final Timer updateAllTimer;
+    private final Timer deleteAllByIdTimer;
+    private final Timer findPageTimer;
+    private final Timer updateIfVersionTimer;
+    private final Timer findByNameTimer;
+    private final Timer findByNamePrefixTimer;
+
+    public MeteredCoreProcessItemsRepository(CoreProcessItemsRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.findAllTimer = timer(registry, "findAll");
+        this.findByIdTimer = timer(registry, "findById");
+        this.saveTimer = timer(registry, "save");
+        this.deleteByIdTimer = timer(registry, "deleteById");
+        this.updateTimer = timer(registry, "update");
+        this.saveAllTimer = timer(registry, "saveAll");
+        this.updateAllTimer = timer(registry, "updateAll");
+        this.deleteAllByIdTimer = timer(registry, "deleteAllById");
+        this.findPageTimer = timer(registry, "findPage");
+        this.updateIfVersionTimer = timer(registry, "updateIfVersion");
+        this.findByNameTimer = timer(registry, "findByName");
+        this.findByNamePrefixTimer = timer(registry, "findByNamePrefix");
+        Gauge.builder(ITEM_COUNT_GAUGE, delegate, CoreProcessItemsRepository::count)
+                .description("Number of items stored")
+                .register(registry);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAll();
+        } finally {
+            record(findAllTimer, start);
+        }
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findById(id);
+        } finally {
+            record(findByIdTimer, start);
+        }
+    }
+
+    // Timed as findById, the same operation without the boxing
+    @Override
+    public Item findItem(long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findItem(id);
+        } finally {
+            record(findByIdTimer, start);
+        }
+    }
+
+    @Override
+    public Item save(Item item) {
+        long start = System.nanoTime();
+        try {
+            return delegate.save(item);
+        } finally {
+            record(saveTimer, start);
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteById(id);
+        } finally {
+            record(deleteByIdTimer, start);
+        }
+    }
+
+    @Override
+    public Item update(Item item) {
+        long start = System.nanoTime();
+        try {
+            return delegate.update(item);
+        } finally {
+            record(updateTimer, start);
+        }
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        long start = System.nanoTime();
+        try {
+            return delegate.saveAll(items);
+        } finally {
+            record(saveAllTimer, start);
+        }
+    }
+
+    @Override
+    public List<Optional<Item>> updateAll(List<Item> items) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateAll(items);
+        } finally {
+            record(updateAllTimer, start);
+        }
+    }
+
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteAllById(ids);
+        } finally {
+            record(deleteAllByIdTimer, start);
+        }
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findPage(afterId, limit);
+        } finally {
+            record(findPageTimer, start);
+        }
+    }
+
+    @Override
+    public List<Item> findByName(String name, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByName(name, limit);
+        } finally {
+            record(findByNameTimer, start);
+        }
+    }
+
+    @Override
+    public List<Item> findByNamePrefix(String prefix, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByNamePrefix(prefix, limit);
+        } finally {
+            record(findByNamePrefixTimer, start);
+        }
+    }
+
+    // Not timed: the stream is consumed long after this call returns
+    @Override
+    public Stream<Item> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long version() {
+        return delegate.version();
+    }
+
+    @Override
+    public OptionalLong versionOf(Long id) {
+        return delegate.versionOf(id);
+    }
+
+    @Override
+    public long itemVersion(long id) {
+        return delegate.itemVersion(id);
+    }
+
+    @Override
+    public long updateIfVersion(Item item, long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateIfVersion(item, expectedVersion);
+        } finally {
+            record(updateIfVersionTimer, start);
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder(OPERATION_TIMER)
+                .description("Latency of repository operations")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,19 @@
+package com.liatrio.exercise.dataService.metrics;
+
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepositoryDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+public class MetricsConfiguration {
+
+    // Outermost, so the timings include every other decorator as callers see them
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public CoreProcessItemsRepositoryDecorator meteredRepositoryDecorator(MeterRegistry registry) {
+        return repository -> new MeteredCoreProcessItemsRepository(repository, registry);
+    }
+}
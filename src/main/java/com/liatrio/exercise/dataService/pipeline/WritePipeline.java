@@ -0,0 +1,221 @@
+package com.liatrio.exercise.dataService.pipeline;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.BatchWriteException;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Funnels creates and updates from any number of request threads through a single writer
+// thread. Writes wait in a lock-free queue, bounded by a semaphore of free slots; the writer
+// drains up to maxBatchSize of them at a time and applies each run of consecutive creates or
+// updates with one saveAll or updateAll call. The store then sees one writer taking its lock
+// once per batch instead of every request thread contending for it.
+//
+// When the queue is full, a write is rejected at once or after waiting up to offerTimeout for
+// a free slot, depending on the backpressure setting. Rejected writes complete exceptionally
+// with RejectedExecutionException and are never applied.
+//
+// Callers wait up to writeTimeout for their write. A write they gave up on may still be applied.
+public class WritePipeline implements AutoCloseable {
+
+    public enum Backpressure {
+        REJECT, WAIT
+    }
+
+    private final CoreProcessItemsRepository repository;
+    private final int maxBatchSize;
+    private final Backpressure backpressure;
+    private final long offerTimeoutNanos;
+    private final Duration writeTimeout;
+    private final ConcurrentLinkedQueue<Write> queue = new ConcurrentLinkedQueue<>();
+    private final Semaphore freeSlots; // Taken when a write is queued, returned once it is applied
+    private final Thread writer;
+    private volatile boolean writerParked;
+    private volatile boolean closed;
+
+    public WritePipeline(CoreProcessItemsRepository repository, int queueCapacity, int maxBatchSize,
+                         Backpressure backpressure, Duration offerTimeout, Duration writeTimeout) {
+        if (queueCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive, were "
+                    + queueCapacity + " and " + maxBatchSize);
+        }
+        this.repository = repository;
+        this.maxBatchSize = maxBatchSize;
+        this.backpressure = backpressure;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.writeTimeout = writeTimeout;
+        this.freeSlots = new Semaphore(queueCapacity);
+        this.writer = Thread.ofPlatform()
+                .name("item-write-pipeline")
+                .daemon()
+                .start(this::writeContinuously);
+    }
+
+    public CompletableFuture<Item> save(Item item) {
+        return submit(item, false).thenApply(Optional::orElseThrow);
+    }
+
+    // Completes empty when no item with the ID exists
+    public CompletableFuture<Optional<Item>> update(Item item) {
+        return submit(item, true);
+    }
+
+    public Duration writeTimeout() {
+        return writeTimeout;
+    }
+
+    // Writes queued before close are still applied
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Writes that raced with close after the writer stopped
+        Write write;
+        while ((write = queue.poll()) != null) {
+            write.result.completeExceptionally(new RejectedExecutionException("Write pipeline is closed"));
+        }
+    }
+
+    private CompletableFuture<Optional<Item>> submit(Item item, boolean update) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Write pipeline is closed"));
+        }
+        if (!acquireSlot()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Write queue is full"));
+        }
+
+        Write write = new Write(item, update);
+        queue.offer(write);
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+
+        // Whoever takes the write off the queue completes it; if close won the race, nobody will
+        if (closed && queue.remove(write)) {
+            freeSlots.release();
+            write.result.completeExceptionally(new RejectedExecutionException("Write pipeline is closed"));
+        }
+        return write.result;
+    }
+
+    private boolean acquireSlot() {
+        if (backpressure == Backpressure.REJECT) {
+            return freeSlots.tryAcquire();
+        }
+        try {
+            return freeSlots.tryAcquire(offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void writeContinuously() {
+        List<Write> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            Write write = queue.poll();
+            if (write == null) {
+                if (closed) {
+                    return;
+                }
+
+                // Announce the park before the last look at the queue, so a writer that
+                // queued after that look is sure to see the flag and unpark us
+                writerParked = true;
+                if (queue.isEmpty() && !closed) {
+                    LockSupport.park(this);
+                }
+                writerParked = false;
+                continue;
+            }
+
+            batch.add(write);
+            while (batch.size() < maxBatchSize && (write = queue.poll()) != null) {
+                batch.add(write);
+            }
+            apply(batch);
+            freeSlots.release(batch.size());
+            batch.clear();
+        }
+    }
+
+    // Runs of the same kind of write are applied together; keeping the runs in queue order
+    // means a write never overtakes one queued before it
+    private void apply(List<Write> batch) {
+        int start = 0;
+        while (start < batch.size()) {
+            boolean update = batch.get(start).update;
+            int end = start + 1;
+            while (end < batch.size() && batch.get(end).update == update) {
+                end++;
+            }
+            applyRun(batch.subList(start, end), update);
+            start = end;
+        }
+    }
+
+    // A failed write fails alone: the writes ahead of it in the run stay applied and are
+    // completed with their results, and the ones behind it are applied with another call
+    private void applyRun(List<Write> run, boolean update) {
+        List<Write> pending = run;
+        while (!pending.isEmpty()) {
+            List<Item> items = new ArrayList<>(pending.size());
+            for (Write write : pending) {
+                items.add(write.item);
+            }
+
+            List<?> applied;
+            RuntimeException failure = null;
+            try {
+                applied = update ? repository.updateAll(items) : repository.saveAll(items);
+            } catch (BatchWriteException e) {
+                applied = e.applied();
+                failure = (RuntimeException) e.getCause();
+            } catch (RuntimeException e) {
+                // Nothing was applied, or all of it but it could not be made durable
+                for (Write write : pending) {
+                    write.result.completeExceptionally(e);
+                }
+                return;
+            }
+
+            for (int i = 0; i < applied.size(); i++) {
+                @SuppressWarnings("unchecked")
+                Optional<Item> result = update ? (Optional<Item>) applied.get(i) : Optional.of((Item) applied.get(i));
+                pending.get(i).result.complete(result);
+            }
+            if (failure == null) {
+                return;
+            }
+            pending.get(applied.size()).result.completeExceptionally(failure);
+            pending = pending.subList(applied.size() + 1, pending.size());
+        }
+    }
+
+    private static final class Write {
+        final Item item;
+        final boolean update;
+        final CompletableFuture<Optional<Item>> result = new CompletableFuture<>();
+
+        Write(Item item, boolean update) {
+            this.item = item;
+            this.update = update;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.liatrio.exercise.dataService.pipeline;
+
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "dataservice.write-pipeline", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WritePipelineProperties.class)
+public class WritePipelineConfiguration {
+
+    @Bean
+    public WritePipeline writePipeline(CoreProcessItemsRepository repository, WritePipelineProperties properties) {
+        return new WritePipeline(repository, properties.queueCapacity(), properties.maxBatchSize(),
+                properties.backpressure(), properties.offerTimeout(), properties.writeTimeout());
+    }
+}
@@ -0,0 +1,16 @@
+package com.liatrio.exercise.dataService.pipeline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dataservice.write-pipeline")
+public record WritePipelineProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("65536") int queueCapacity,
+        @DefaultValue("256") int maxBatchSize,
+        @DefaultValue("wait") WritePipeline.Backpressure backpressure,
+        @DefaultValue("100ms") Duration offerTimeout,
+        @DefaultValue("5s") Duration writeTimeout) {
+}
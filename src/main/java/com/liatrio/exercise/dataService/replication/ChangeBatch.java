@@ -0,0 +1,10 @@
+package com.liatrio.exercise.dataService.replication;
+
+import com.liatrio.exercise.dataService.changes.ItemChangeEvent;
+
+import java.util.List;
+
+// Changes a follower pulls from the leader, in order, and the leader position after them
+public record ChangeBatch(String position, List<ItemChangeEvent> events) {
+    public static final String POSITION_HEADER = "X-Replication-Position";
+}
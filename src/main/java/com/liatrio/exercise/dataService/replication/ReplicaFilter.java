@@ -0,0 +1,75 @@
+package com.liatrio.exercise.dataService.replication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Makes a follower a read replica. Writes are redirected to the leader with 307, which keeps
+// their method and body. Reads are served locally once the leader's snapshot is loaded, and
+// answer with the leader position the replica had reached when the read began.
+//
+// With read-your-writes, a read carrying a leader position, as handed out with the leader's
+// responses, waits until the replica has caught up to it, or is answered 503 after the timeout.
+public class ReplicaFilter extends OncePerRequestFilter {
+    private final ReplicaFollower follower;
+    private final boolean readYourWrites;
+    private final Duration readYourWritesTimeout;
+
+    public ReplicaFilter(ReplicaFollower follower, boolean readYourWrites, Duration readYourWritesTimeout) {
+        this.follower = follower;
+        this.readYourWrites = readYourWrites;
+        this.readYourWritesTimeout = readYourWritesTimeout;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isSafe(request.getMethod())) {
+            String query = request.getQueryString();
+            String target = follower.leaderUrl().resolve(request.getRequestURI()) + (query == null ? "" : "?" + query);
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target);
+            return;
+        }
+
+        // Waiting for a position also waits for the snapshot, so only reads without one are turned away
+        String minimumPosition = request.getHeader(ChangeBatch.POSITION_HEADER);
+        if (!follower.isReady() && (!readYourWrites || minimumPosition == null)) {
+            unavailable(response);
+            return;
+        }
+
+        if (readYourWrites && minimumPosition != null) {
+            try {
+                if (!follower.awaitPosition(minimumPosition.trim(), readYourWritesTimeout)) {
+                    unavailable(response);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unavailable(response);
+                return;
+            }
+        }
+
+        response.setHeader(ChangeBatch.POSITION_HEADER, follower.position());
+        chain.doFilter(request, response);
+    }
+
+    private static boolean isSafe(String method) {
+        return method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS");
+    }
+
+    private static void unavailable(HttpServletResponse response) {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentLength(0);
+    }
+}
@@ -0,0 +1,275 @@
+package com.liatrio.exercise.dataService.replication;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.liatrio.exercise.dataService.changes.ItemChangeEvent;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Keeps the local repository a replica of the leader's. It loads the leader's snapshot, then
+// long-polls the leader's change log and applies the changes in order. When the leader no
+// longer holds the changes it needs, because it restarted or the follower fell too far
+// behind, it loads a fresh snapshot.
+//
+// The snapshot is taken after the position it comes with, so it may already contain some of
+// the changes that follow. Replaying them is harmless: every change writes a whole item or
+// deletes one, so applying the rest in order ends in the leader's state either way.
+public class ReplicaFollower implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaFollower.class);
+
+    private static final int SNAPSHOT_CHUNK_SIZE = 4096;
+
+    private final CoreProcessItemsRepository repository;
+    private final URI leaderUrl;
+    private final int batchSize;
+    private final Duration pollWait;
+    private final Duration retryInterval;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader itemReader;
+    private final ReentrantLock positionLock = new ReentrantLock();
+    private final Condition advanced = positionLock.newCondition();
+    private volatile Position position; // Of the last change applied; null until the first snapshot is loaded
+    private volatile boolean closed;
+    private final Thread follower;
+
+    public ReplicaFollower(CoreProcessItemsRepository repository, URI leaderUrl, ObjectMapper objectMapper,
+                           int batchSize, Duration pollWait, Duration retryInterval) {
+        this.repository = repository;
+        this.leaderUrl = leaderUrl;
+        this.batchSize = batchSize;
+        this.pollWait = pollWait;
+        this.retryInterval = retryInterval;
+        this.objectMapper = objectMapper;
+        this.itemReader = objectMapper.readerFor(Item.class);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.follower = Thread.ofPlatform()
+                .name("replica-follower")
+                .daemon()
+                .start(this::followContinuously);
+    }
+
+    public URI leaderUrl() {
+        return leaderUrl;
+    }
+
+    // Whether a snapshot of the leader has been loaded yet
+    public boolean isReady() {
+        return position != null;
+    }
+
+    // Leader position of the last change applied here, null until ready
+    public String position() {
+        Position current = position;
+        return current == null ? null : current.toString();
+    }
+
+    // Waits until the changes up to a position the leader handed out have been applied here.
+    // Positions of an earlier leader run are covered by any snapshot of a later one.
+    // Returns false for malformed positions or when the timeout elapses first.
+    public boolean awaitPosition(String leaderPosition, Duration timeout) throws InterruptedException {
+        Position target = Position.parse(leaderPosition);
+        if (target == null) {
+            return false;
+        }
+
+        long remaining = timeout.toNanos();
+        positionLock.lock();
+        try {
+            while (!covers(position, target)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = advanced.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            positionLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        follower.interrupt();
+        try {
+            follower.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void followContinuously() {
+        boolean needsSnapshot = true;
+        while (!closed) {
+            try {
+                if (needsSnapshot) {
+                    loadSnapshot();
+                    needsSnapshot = false;
+                }
+                needsSnapshot = !pollChanges();
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (closed) {
+                    return;
+                }
+                log.warn("Replicating from {} failed, retrying in {}", leaderUrl, retryInterval, e);
+                try {
+                    Thread.sleep(retryInterval);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Applies every item of the snapshot and deletes local items the leader no longer has
+    private void loadSnapshot() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(leaderUrl.resolve("/api/replication/snapshot")).GET().build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Leader answered " + response.statusCode() + " for its snapshot");
+            }
+            Position snapshotPosition = response.headers().firstValue(ChangeBatch.POSITION_HEADER)
+                    .map(Position::parse)
+                    .orElseThrow(() -> new IOException("Leader sent a snapshot without a valid position"));
+
+            Set<Long> ids = new HashSet<>();
+            List<Item> chunk = new ArrayList<>(SNAPSHOT_CHUNK_SIZE);
+            try (MappingIterator<Item> items = itemReader.readValues(body)) {
+                while (items.hasNext()) {
+                    Item item = items.next();
+                    ids.add(item.id());
+                    chunk.add(item);
+                    if (chunk.size() == SNAPSHOT_CHUNK_SIZE) {
+                        repository.saveAll(chunk);
+                        chunk.clear();
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                repository.saveAll(chunk);
+            }
+
+            List<Long> stale = new ArrayList<>();
+            try (Stream<Item> local = repository.streamAll()) {
+                local.filter(item -> !ids.contains(item.id())).forEach(item -> stale.add(item.id()));
+            }
+            if (!stale.isEmpty()) {
+                repository.deleteAllById(stale);
+            }
+
+            log.info("Loaded {} items from {} at position {}", ids.size(), leaderUrl, snapshotPosition);
+            advance(snapshotPosition);
+        }
+    }
+
+    // Returns false when the leader no longer holds the changes after our position
+    private boolean pollChanges() throws IOException, InterruptedException {
+        URI uri = leaderUrl.resolve("/api/replication/changes?after="
+                + URLEncoder.encode(position.toString(), StandardCharsets.UTF_8)
+                + "&limit=" + batchSize + "&waitMillis=" + pollWait.toMillis());
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(pollWait.plusSeconds(10))
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 410) {
+            log.info("Leader {} no longer holds the changes after {}, reloading its snapshot", leaderUrl, position);
+            return false;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Leader answered " + response.statusCode() + " for its changes");
+        }
+
+        ChangeBatch batch = objectMapper.readValue(response.body(), ChangeBatch.class);
+        Position batchPosition = Position.parse(batch.position());
+        if (batchPosition == null) {
+            throw new IOException("Leader sent changes with an invalid position " + batch.position());
+        }
+        apply(batch.events());
+        advance(batchPosition);
+        return true;
+    }
+
+    // Consecutive writes and consecutive deletes are applied in one call each, in order
+    private void apply(List<ItemChangeEvent> events) {
+        int start = 0;
+        while (start < events.size()) {
+            boolean delete = events.get(start).type() == ItemChangeEvent.Type.DELETED;
+            int end = start + 1;
+            while (end < events.size() && (events.get(end).type() == ItemChangeEvent.Type.DELETED) == delete) {
+                end++;
+            }
+
+            List<ItemChangeEvent> run = events.subList(start, end);
+            if (delete) {
+                repository.deleteAllById(run.stream().map(ItemChangeEvent::id).toList());
+            } else {
+                repository.saveAll(run.stream().map(ItemChangeEvent::item).toList());
+            }
+            start = end;
+        }
+    }
+
+    private void advance(Position next) {
+        positionLock.lock();
+        try {
+            position = next;
+            advanced.signalAll();
+        } finally {
+            positionLock.unlock();
+        }
+    }
+
+    private static boolean covers(Position applied, Position target) {
+        if (applied == null) {
+            return false;
+        }
+        return applied.epoch() > target.epoch()
+                || (applied.epoch() == target.epoch() && applied.sequence() >= target.sequence());
+    }
+
+    // A change log event id: the leader's start time in base 36 and the sequence number
+    private record Position(long epoch, long sequence) {
+        static Position parse(String value) {
+            int separator = value.lastIndexOf('-');
+            if (separator < 1) {
+                return null;
+            }
+            try {
+                return new Position(Long.parseLong(value.substring(0, separator), 36),
+                        Long.parseLong(value.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Long.toString(epoch, 36) + "-" + sequence;
+        }
+    }
+}
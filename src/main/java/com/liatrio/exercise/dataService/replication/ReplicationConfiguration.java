@@ -0,0 +1,40 @@
+package com.liatrio.exercise.dataService.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// The follower side of replication. The leader side is its change log, which is enabled
+// whenever the role is leader, ReplicationController and ReplicationLeaderConfiguration.
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "dataservice.replication", name = "role", havingValue = "follower")
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationConfiguration {
+
+    @Bean
+    public ReplicaFollower replicaFollower(CoreProcessItemsRepository repository, ObjectMapper objectMapper,
+                                           ReplicationProperties properties) {
+        if (properties.leaderUrl() == null) {
+            throw new IllegalStateException("dataservice.replication.leader-url must be set for a follower");
+        }
+        return new ReplicaFollower(repository, properties.leaderUrl(), objectMapper,
+                properties.batchSize(), properties.pollWait(), properties.retryInterval());
+    }
+
+    // Right after admission control, so shed requests are never redirected or kept waiting
+    @Bean
+    public FilterRegistrationBean<ReplicaFilter> replicaFilter(ReplicaFollower follower, ReplicationProperties properties) {
+        FilterRegistrationBean<ReplicaFilter> registration = new FilterRegistrationBean<>(
+                new ReplicaFilter(follower, properties.readYourWrites(), properties.readYourWritesTimeout()));
+        registration.addUrlPatterns("/api/coreProcess/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
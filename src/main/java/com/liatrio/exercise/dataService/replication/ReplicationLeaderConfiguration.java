@@ -0,0 +1,27 @@
+package com.liatrio.exercise.dataService.replication;
+
+import com.liatrio.exercise.dataService.changes.ItemChangeLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// The leader side of replication besides its change log and ReplicationController: handing
+// out the leader's position with every response
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "dataservice.replication", name = "role", havingValue = "leader")
+public class ReplicationLeaderConfiguration {
+
+    // Where a follower has its replica filter
+    @Bean
+    public FilterRegistrationBean<ReplicationPositionFilter> replicationPositionFilter(ItemChangeLog changeLog) {
+        FilterRegistrationBean<ReplicationPositionFilter> registration = new FilterRegistrationBean<>(
+                new ReplicationPositionFilter(changeLog));
+        registration.addUrlPatterns("/api/coreProcess/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,80 @@
+package com.liatrio.exercise.dataService.replication;
+
+import com.liatrio.exercise.dataService.changes.ItemChangeLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Tells clients of the leader how far its change log had got when their response was
+// committed, which is past every write the response reports. Sending the position back to a
+// follower in the same header makes it wait until it has caught up to it.
+//
+// The header is set just before the body is written or the response is flushed, or else once
+// the request has been handled, so responses without a body, such as deletes, carry it too.
+public class ReplicationPositionFilter extends OncePerRequestFilter {
+    private final ItemChangeLog changeLog;
+
+    public ReplicationPositionFilter(ItemChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PositionResponse positioned = new PositionResponse(response);
+        chain.doFilter(request, positioned);
+        positioned.setPosition();
+    }
+
+    private final class PositionResponse extends HttpServletResponseWrapper {
+        private boolean positioned;
+
+        PositionResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void setPosition() {
+            if (!positioned && !isCommitted()) {
+                setHeader(ChangeBatch.POSITION_HEADER, changeLog.eventId(changeLog.lastSequence()));
+            }
+            positioned = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setPosition();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setPosition();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setPosition();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            setPosition();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            setPosition();
+            super.sendError(status);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.liatrio.exercise.dataService.replication;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dataservice.replication")
+public record ReplicationProperties(
+        @DefaultValue("none") Role role,
+        URI leaderUrl,
+        @DefaultValue("true") boolean readYourWrites,
+        @DefaultValue("2s") Duration readYourWritesTimeout,
+        @DefaultValue("1024") int batchSize,
+        @DefaultValue("10s") Duration pollWait,
+        @DefaultValue("1s") Duration retryInterval) {
+
+    public enum Role {
+        NONE, LEADER, FOLLOWER
+    }
+}
@@ -0,0 +1,19 @@
+package com.liatrio.exercise.dataService.repository;
+
+import java.util.List;
+
+// A batched write failed part way through. The entries ahead of the failed one were applied
+// and are reported as the batch would have reported them; the failed entry and the ones
+// behind it were not applied.
+public class BatchWriteException extends RuntimeException {
+    private final transient List<?> applied;
+
+    public BatchWriteException(List<?> applied, RuntimeException cause) {
+        super("Batch write failed after " + applied.size() + " entries: " + cause.getMessage(), cause);
+        this.applied = List.copyOf(applied);
+    }
+
+    public List<?> applied() {
+        return applied;
+    }
+}
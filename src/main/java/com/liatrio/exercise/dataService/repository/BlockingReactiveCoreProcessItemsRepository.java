@@ -0,0 +1,70 @@
+package com.liatrio.exercise.dataService.repository;
+
+import com.liatrio.exercise.dataService.model.Item;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+// Serves any CoreProcessItemsRepository reactively. Calls run on the given scheduler so a
+// blocking backend never stalls an event loop, and findAll pulls items from streamAll()
+// only as fast as the subscriber requests them.
+public class BlockingReactiveCoreProcessItemsRepository implements ReactiveCoreProcessItemsRepository {
+    private final CoreProcessItemsRepository repository;
+    private final Scheduler scheduler;
+
+    public BlockingReactiveCoreProcessItemsRepository(CoreProcessItemsRepository repository, Scheduler scheduler) {
+        this.repository = repository;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Flux<Item> findAll() {
+        return Flux.fromStream(repository::streamAll)
+                .subscribeOn(scheduler);
+    }
+
+    // Pages and search results are bounded by their limit, so they are read in one call
+    @Override
+    public Mono<List<Item>> findPage(Long afterId, int limit) {
+        return Mono.fromCallable(() -> repository.findPage(afterId, limit))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<List<Item>> findByName(String name, int limit) {
+        return Mono.fromCallable(() -> repository.findByName(name, limit))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<List<Item>> findByNamePrefix(String prefix, int limit) {
+        return Mono.fromCallable(() -> repository.findByNamePrefix(prefix, limit))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Item> findById(Long id) {
+        return Mono.fromCallable(() -> repository.findById(id).orElse(null))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Item> save(Item item) {
+        return Mono.fromCallable(() -> repository.save(item))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return Mono.<Void>fromRunnable(() -> repository.deleteById(id))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Item> update(Item item) {
+        return Mono.fromCallable(() -> repository.update(item))
+                .subscribeOn(scheduler);
+    }
+}
@@ -4,11 +4,58 @@ import com.liatrio.exercise.dataService.model.Item;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 
 public interface CoreProcessItemsRepository {
+    long NO_VERSION = -1;
+
     List<Item> findAll();
     Optional<Item> findById(Long id);
+
+    // Primitive-key reads for the single-item hot paths, without boxing the ID or wrapping
+    // the result: null and NO_VERSION when the item does not exist
+    default Item findItem(long id) {
+        return findById(id).orElse(null);
+    }
+
+    default long itemVersion(long id) {
+        return versionOf(id).orElse(NO_VERSION);
+    }
     Item save(Item item);
     void deleteById(Long id);
     Item update(Item item);
+
+    // Batched variants apply every entry in one pass and report per entry, in order:
+    // updateAll yields empty and deleteAllById false for IDs that were not found. A batch
+    // that fails after applying some entries throws BatchWriteException with their results.
+    List<Item> saveAll(List<Item> items);
+    List<Optional<Item>> updateAll(List<Item> items);
+    List<Boolean> deleteAllById(List<Long> ids);
+
+    // Keyset pagination: up to limit items following afterId in findAll order,
+    // starting from the beginning when afterId is null
+    List<Item> findPage(Long afterId, int limit);
+
+    // Served from secondary indexes on the name, up to limit items: exact matches in ID
+    // order, prefix matches ordered by name and then ID. Items without a name never match.
+    List<Item> findByName(String name, int limit);
+    List<Item> findByNamePrefix(String prefix, int limit);
+
+    // Lazily walks the items in findAll order without copying them; callers must close it
+    Stream<Item> streamAll();
+
+    // Number of items currently stored, in constant time
+    long count();
+
+    // Every mutation advances the repository version and stamps the items it writes with a
+    // new version, so item versions are unique and only ever increase. Read a version before
+    // the data it describes: a concurrent write can then only make the data newer.
+    long version();
+    OptionalLong versionOf(Long id);
+
+    // Compare-and-set update returning the item's new version. Throws IllegalArgumentException
+    // when the item does not exist and ItemVersionConflictException when it is no longer at
+    // expectedVersion.
+    long updateIfVersion(Item item, long expectedVersion);
 }
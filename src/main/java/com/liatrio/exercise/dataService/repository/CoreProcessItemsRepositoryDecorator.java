@@ -0,0 +1,9 @@
+package com.liatrio.exercise.dataService.repository;
+
+// Wraps the storage engine to add behaviour such as metrics or caching. Decorator beans
+// are applied in @Order: the lowest order wraps the engine directly, the highest is
+// what the controllers call.
+@FunctionalInterface
+public interface CoreProcessItemsRepositoryDecorator {
+    CoreProcessItemsRepository decorate(CoreProcessItemsRepository repository);
+}
@@ -0,0 +1,65 @@
+package com.liatrio.exercise.dataService.repository;
+
+import java.util.ArrayDeque;
+
+// Where a page continues when its cursor item has been deleted since the previous page was
+// served. The tombstone of a deleted item keeps the slot that followed it, so the next page
+// carries on in insertion order whatever the IDs look like. Only the most recent deletes keep
+// a tombstone, and the engine renumbers them whenever it moves its slots, which starts a new
+// generation. Read without locks, like LongIndex; writes must be serialized by the caller.
+final class DeletedCursors {
+    static final int CAPACITY = 1 << 16;
+
+    record Tombstone(long id, int resume, int generation) {
+    }
+
+    private final LongIndex<Tombstone> byId = new LongIndex<>();
+    private final ArrayDeque<Tombstone> recent = new ArrayDeque<>(); // Oldest first
+    private int generation;
+
+    Tombstone get(long id) {
+        return byId.get(id);
+    }
+
+    int generation() {
+        return generation;
+    }
+
+    // The item has been deleted from the slot before resume
+    void add(long id, int resume) {
+        if (recent.size() == CAPACITY) {
+            forget(recent.removeFirst());
+        }
+        Tombstone tombstone = new Tombstone(id, resume, generation);
+        recent.addLast(tombstone);
+        byId.put(id, tombstone);
+    }
+
+    // The slots have moved: newPositions maps every old slot, and the end, to its new position.
+    // Call it before publishing the moved slots, so a reader that sees them sees the new tombstones.
+    void renumber(int[] newPositions) {
+        generation++;
+        int count = recent.size();
+        for (int i = 0; i < count; i++) {
+            Tombstone old = recent.removeFirst();
+            if (byId.get(old.id()) != old) {
+                continue; // Superseded by a later delete of the same ID
+            }
+            Tombstone moved = new Tombstone(old.id(), newPositions[old.resume()], generation);
+            recent.addLast(moved);
+            byId.put(moved.id(), moved);
+        }
+    }
+
+    void clear() {
+        generation++;
+        recent.clear();
+        byId.clear();
+    }
+
+    private void forget(Tombstone tombstone) {
+        if (byId.get(tombstone.id()) == tombstone) {
+            byId.remove(tombstone.id());
+        }
+    }
+}
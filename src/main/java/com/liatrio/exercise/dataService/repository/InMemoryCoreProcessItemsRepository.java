@@ -1,93 +1,498 @@
 package com.liatrio.exercise.dataService.repository;
 
 import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.id.ItemIdGenerator;
+import com.liatrio.exercise.dataService.repository.id.SequentialIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-@Repository
+@Repository(RepositoryConfiguration.ITEM_STORE)
+@ConditionalOnProperty(prefix = "dataservice.repository", name = "engine", havingValue = "in-memory", matchIfMissing = true)
 public class InMemoryCoreProcessItemsRepository implements CoreProcessItemsRepository {
-    private final List<Item> items = new ArrayList<>();
-    private final AtomicLong idSequence = new AtomicLong(3); // Start after our 3 initial items
+    // Items are indexed by id for constant-time access and kept in insertion order in an
+    // immutable ItemVector. Every mutation publishes a new vector that shares all but a few
+    // arrays with the previous one, so listing and streaming take the current vector as a
+    // point-in-time snapshot in constant time and walk it while writers carry on. Reads
+    // never lock; mutations are serialized by the write lock so the change listener
+    // observes them in the order they are applied.
+    private static final int MIN_DELETED_SLOTS_TO_COMPACT = 1024;
+
+    private final LongIndex<Node> index = new LongIndex<>();
+    private final DeletedCursors deletedCursors = new DeletedCursors();
+    private final NameIndex nameIndex = new NameIndex();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile ItemVector snapshot = ItemVector.EMPTY; // Only replaced under writeLock
+    private volatile ItemChangeListener changeListener = ItemChangeListener.NONE; // Only replaced under writeLock
+    private ItemChangeListener appliedChangeListener = ItemChangeListener.NONE; // Guarded by writeLock
+    private volatile long version; // Only advanced under writeLock, after the change is visible
+    private final ItemIdGenerator idGenerator;
 
     public InMemoryCoreProcessItemsRepository() {
+        this(new SequentialIdGenerator(3)); // Start after our 3 initial items
+    }
+
+    @Autowired
+    public InMemoryCoreProcessItemsRepository(ItemIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+
         // Initialize with some data for testing
-        items.add(new Item(1L, "Item 1"));
-        items.add(new Item(2L, "Item 2"));
-        items.add(new Item(3L, "Item 3"));
+        link(new Item(1L, "Item 1"), 0);
+        link(new Item(2L, "Item 2"), 0);
+        link(new Item(3L, "Item 3"), 0);
+        idGenerator.advancePast(3);
     }
 
     @Override
     public List<Item> findAll() {
-        return new ArrayList<>(items);
+        ItemVector items = snapshot;
+        List<Item> result = new ArrayList<>(items.live());
+        items.iterator(0).forEachRemaining(result::add);
+        return result;
     }
-    
+
     @Override
     public Optional<Item> findById(Long id) {
-        return items.stream()
-                .filter(item -> item.id().equals(id))
-                .findFirst();
+        return Optional.ofNullable(findItem(id));
     }
-    
+
+    @Override
+    public Item findItem(long id) {
+        Node node = index.get(id);
+        return node == null ? null : node.item;
+    }
+
     @Override
     public Item save(Item item) {
-        // Handle creation with autogenerated ID
-        if (item.id() == null) {
-            Item newItem = new Item(idSequence.incrementAndGet(), item.name());
-            items.add(newItem);
-            return newItem;
+        Item saved;
+        writeLock.lock();
+        try {
+            saved = saveLocked(item);
+        } finally {
+            writeLock.unlock();
         }
-        
-        // Handle update of existing item (not required for this exercise but included for completeness)
-        int index = -1;
-        for (int i = 0; i < items.size(); i++) {
-            if (items.get(i).id().equals(item.id())) {
-                index = i;
-                break;
+        changeListener.awaitDurable();
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        writeLock.lock();
+        try {
+            if (!deleteLocked(id)) {
+                throw new IllegalArgumentException("Item with ID " + id + " not found");
             }
+        } finally {
+            writeLock.unlock();
         }
-        
-        if (index != -1) {
-            items.set(index, item);
-            return item;
-        } else {
-            // If item with ID not found, treat as new
-            items.add(item);
-            return item;
+        changeListener.awaitDurable();
+    }
+
+    @Override
+    public Item update(Item item) {
+        writeLock.lock();
+        try {
+            if (!updateLocked(item)) {
+                throw new IllegalArgumentException("Item with ID " + item.id() + " not found");
+            }
+        } finally {
+            writeLock.unlock();
         }
+        changeListener.awaitDurable();
+        return item;
     }
-    
+
     @Override
-    public void deleteById(Long id) {
-        // Check if item exists first
-        boolean exists = items.stream().anyMatch(item -> item.id().equals(id));
-        
-        if (!exists) {
-            throw new IllegalArgumentException("Item with ID " + id + " not found");
+    public List<Item> saveAll(List<Item> items) {
+        List<Item> saved = new ArrayList<>(items.size());
+        RuntimeException failure = null;
+        writeLock.lock();
+        try {
+            for (Item item : items) {
+                saved.add(saveLocked(item));
+            }
+        } catch (RuntimeException e) {
+            failure = e; // The entries ahead of it stay applied
+        } finally {
+            writeLock.unlock();
         }
-        
-        // Remove the item
-        items.removeIf(item -> item.id().equals(id));
+        changeListener.awaitDurable();
+        if (failure != null) {
+            throw new BatchWriteException(saved, failure);
+        }
+        return saved;
     }
-    
+
     @Override
-    public Item update(Item item) {
-        // Check if the item exists
-        boolean exists = items.stream().anyMatch(i -> i.id().equals(item.id()));
-        
-        if (!exists) {
-            throw new IllegalArgumentException("Item with ID " + item.id() + " not found");
-        }
-        
-        // Remove the old item
-        items.removeIf(i -> i.id().equals(item.id()));
-        
-        // Add the updated item
-        items.add(item);
-        
+    public List<Optional<Item>> updateAll(List<Item> items) {
+        List<Optional<Item>> updated = new ArrayList<>(items.size());
+        RuntimeException failure = null;
+        writeLock.lock();
+        try {
+            for (Item item : items) {
+                updated.add(updateLocked(item) ? Optional.of(item) : Optional.empty());
+            }
+        } catch (RuntimeException e) {
+            failure = e; // The entries ahead of it stay applied
+        } finally {
+            writeLock.unlock();
+        }
+        changeListener.awaitDurable();
+        if (failure != null) {
+            throw new BatchWriteException(updated, failure);
+        }
+        return updated;
+    }
+
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        List<Boolean> deleted = new ArrayList<>(ids.size());
+        RuntimeException failure = null;
+        writeLock.lock();
+        try {
+            for (Long id : ids) {
+                deleted.add(deleteLocked(id));
+            }
+        } catch (RuntimeException e) {
+            failure = e; // The entries ahead of it stay applied
+        } finally {
+            writeLock.unlock();
+        }
+        changeListener.awaitDurable();
+        if (failure != null) {
+            throw new BatchWriteException(deleted, failure);
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        ItemVector items;
+        int from;
+        do {
+            items = snapshot;
+            from = positionAfter(items, afterId);
+        } while (from < 0);
+        Iterator<Item> iterator = items.iterator(from);
+        List<Item> page = new ArrayList<>(Math.min(limit, items.live()));
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    @Override
+    public List<Item> findByName(String name, int limit) {
+        return nameIndex.idsWithName(name)
+                .map(this::findItem)
+                .filter(item -> item != null && name.equals(item.name()))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Item> findByNamePrefix(String prefix, int limit) {
+        return nameIndex.idsWithPrefix(prefix)
+                .map(this::findItem)
+                .filter(item -> item != null && item.name() != null && item.name().startsWith(prefix))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Stream<Item> streamAll() {
+        Spliterator<Item> spliterator = Spliterators.spliteratorUnknownSize(
+                snapshot.iterator(0), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public long count() {
+        return index.size();
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public OptionalLong versionOf(Long id) {
+        long itemVersion = itemVersion(id);
+        return itemVersion == NO_VERSION ? OptionalLong.empty() : OptionalLong.of(itemVersion);
+    }
+
+    @Override
+    public long itemVersion(long id) {
+        Node node = index.get(id);
+        if (node == null) {
+            return NO_VERSION;
+        }
+        long itemVersion = node.version;
+        return node.item == null ? NO_VERSION : itemVersion;
+    }
+
+    @Override
+    public long updateIfVersion(Item item, long expectedVersion) {
+        long newVersion;
+        writeLock.lock();
+        try {
+            Node node = index.get(item.id());
+            if (node == null) {
+                throw new IllegalArgumentException("Item with ID " + item.id() + " not found");
+            }
+            if (node.version != expectedVersion) {
+                throw new ItemVersionConflictException(item.id(), expectedVersion, node.version);
+            }
+            updateLocked(item);
+            newVersion = node.version;
+        } finally {
+            writeLock.unlock();
+        }
+        changeListener.awaitDurable();
+        return newVersion;
+    }
+
+    // The listener is called under the write lock just before each mutation is applied,
+    // so a failing listener vetoes the mutation, and waited on for durability after the
+    // write call has released the lock
+    public void setChangeListener(ItemChangeListener changeListener) {
+        writeLock.lock();
+        try {
+            this.changeListener = changeListener;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Called under the write lock right after each mutation has been applied, so it
+    // observes exactly the mutations that took effect, in order, and cannot veto them
+    public void setAppliedChangeListener(ItemChangeListener appliedChangeListener) {
+        writeLock.lock();
+        try {
+            this.appliedChangeListener = appliedChangeListener;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Replaces the whole content, e.g. with recovered or bulk-loaded data, in one pass and
+    // without notifying the listeners. The items must have distinct IDs.
+    public void restore(Iterable<Item> items, long lastAssignedId) {
+        writeLock.lock();
+        try {
+            index.forEachValue(node -> node.item = null);
+            index.clear();
+            nameIndex.clear();
+            deletedCursors.clear();
+
+            idGenerator.resetTo(lastAssignedId);
+            long next = version + 1;
+            List<Item> restored = new ArrayList<>();
+            for (Item item : items) {
+                idGenerator.advancePast(item.id());
+                if (index.put(item.id(), new Node(item, next, restored.size())) != null) {
+                    throw new IllegalArgumentException("Item ID " + item.id() + " occurs more than once");
+                }
+                nameIndex.add(item.id(), item.name());
+                restored.add(item);
+            }
+            snapshot = ItemVector.of(restored, deletedCursors.generation());
+            version = next;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Takes the write lock, so every mutation started before the call has been applied when it returns
+    public long lastAssignedId() {
+        writeLock.lock();
+        try {
+            return idGenerator.lastAssignedId();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Must hold writeLock
+    private Item saveLocked(Item item) {
+        // Handle creation with autogenerated ID. IDs are drawn under the lock so that, with
+        // an ascending generator, insertion order is also ID order. A generator may return an
+        // ID that was meanwhile assigned explicitly, so IDs in use are skipped.
+        if (item.id() == null) {
+            long id;
+            do {
+                id = idGenerator.nextId();
+            } while (index.containsKey(id));
+            Item newItem = new Item(id, item.name());
+            changeListener.onCreate(newItem);
+            link(newItem, version + 1);
+            version++;
+            appliedChangeListener.onCreate(newItem);
+            return newItem;
+        }
+
+        // Replace the existing item in place or, if not found, treat as new
+        Node existing = index.get(item.id());
+        if (existing != null) {
+            changeListener.onUpdate(item);
+        } else {
+            changeListener.onCreate(item);
+        }
+
+        // Never hand out an ID that was assigned explicitly
+        idGenerator.advancePast(item.id());
+
+        if (existing != null) {
+            replace(existing, item);
+            version++;
+            appliedChangeListener.onUpdate(item);
+        } else {
+            link(item, version + 1);
+            version++;
+            appliedChangeListener.onCreate(item);
+        }
         return item;
     }
+
+    // Must hold writeLock
+    private boolean updateLocked(Item item) {
+        Node node = index.get(item.id());
+        if (node == null) {
+            return false;
+        }
+
+        changeListener.onUpdate(item);
+        replace(node, item);
+        version++;
+        appliedChangeListener.onUpdate(item);
+        return true;
+    }
+
+    // Must hold writeLock
+    private boolean deleteLocked(Long id) {
+        Node node = index.get(id);
+        if (node == null) {
+            return false;
+        }
+
+        changeListener.onDelete(id);
+        nameIndex.remove(id, node.item.name());
+        deletedCursors.add(id, node.position + 1); // Before unindexing, so a page always finds one of the two
+        index.remove(id);
+        node.item = null;
+        snapshot = snapshot.set(node.position, null);
+        compactIfSparse();
+        version++;
+        appliedChangeListener.onDelete(id);
+        return true;
+    }
+
+    // Must hold writeLock
+    private void replace(Node node, Item item) {
+        Item previous = node.item;
+        if (!Objects.equals(previous.name(), item.name())) {
+            nameIndex.remove(item.id(), previous.name());
+            nameIndex.add(item.id(), item.name());
+        }
+        node.item = item;
+        snapshot = snapshot.set(node.position, item);
+        node.version = version + 1;
+    }
+
+    // Must hold writeLock. Deleted items leave empty slots behind, which are reclaimed by
+    // copying the live items into a fresh vector once they outnumber them; the copy is
+    // therefore paid for by at least as many deletes as there are items left.
+    private void compactIfSparse() {
+        ItemVector items = snapshot;
+        int deleted = items.size() - items.live();
+        if (deleted < MIN_DELETED_SLOTS_TO_COMPACT || deleted < items.live()) {
+            return;
+        }
+
+        List<Item> live = new ArrayList<>(items.live());
+        int[] newPositions = new int[items.size() + 1];
+        for (int position = 0; position < items.size(); position++) {
+            newPositions[position] = live.size();
+            Item item = items.get(position);
+            if (item != null) {
+                live.add(item);
+            }
+        }
+        newPositions[items.size()] = live.size();
+
+        // The generation moves first, so a page that sees a moved node also sees the new
+        // generation and knows to take the new snapshot
+        deletedCursors.renumber(newPositions);
+        for (int position = 0; position < live.size(); position++) {
+            index.get(live.get(position).id()).position = position;
+        }
+        snapshot = ItemVector.of(live, deletedCursors.generation());
+    }
+
+    // Position in the snapshot to continue a page after the cursor item from, or -1 when the
+    // snapshot has been compacted or the cursor item added since it was read, and a fresh
+    // snapshot must be taken
+    private int positionAfter(ItemVector items, Long afterId) {
+        if (afterId == null) {
+            return 0;
+        }
+
+        // The node may have moved since the snapshot was taken, so check it is still in place
+        Node cursor = index.get(afterId);
+        if (cursor != null) {
+            int position = cursor.position;
+            Item item = items.get(position);
+            if (item != null && item.id().equals(afterId)) {
+                return position + 1;
+            }
+
+            // Moved by a compaction, or added, after the snapshot was read
+            if (items.generation() != deletedCursors.generation() || position >= items.size()) {
+                return -1;
+            }
+        }
+
+        // The cursor item has been deleted since the previous page was served
+        DeletedCursors.Tombstone tombstone = deletedCursors.get(afterId);
+        if (tombstone != null) {
+            return tombstone.generation() == items.generation() ? Math.min(tombstone.resume(), items.size()) : -1;
+        }
+
+        // Too long ago to have kept a tombstone, or never there. Sequential IDs ascend in
+        // insertion order, so resume at the first item with a greater ID.
+        return items.find(0, item -> item.id() > afterId);
+    }
+
+    // Must hold writeLock, except during construction
+    private void link(Item item, long itemVersion) {
+        ItemVector items = snapshot;
+        index.put(item.id(), new Node(item, itemVersion, items.size()));
+        nameIndex.add(item.id(), item.name());
+        snapshot = items.append(item);
+    }
+
+    private static final class Node {
+        volatile Item item; // null once deleted
+        volatile long version; // Written after item, so a reader that sees it also sees the item
+        volatile int position; // Slot in the snapshot; only changed under writeLock
+
+        Node(Item item, long version, int position) {
+            this.item = item;
+            this.version = version;
+            this.position = position;
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package com.liatrio.exercise.dataService.repository;
+
+import com.liatrio.exercise.dataService.model.Item;
+
+// Receives every mutation of a repository in the order it is applied. onSave covers
+// creates, updates and upserts alike; repositories that tell them apart call onCreate
+// and onUpdate, which fall back to onSave. awaitDurable is called once a write call has
+// notified its mutations and released its locks, and returns when they would survive a crash.
+public interface ItemChangeListener {
+    ItemChangeListener NONE = new ItemChangeListener() {
+        @Override
+        public void onSave(Item item) {
+        }
+
+        @Override
+        public void onDelete(Long id) {
+        }
+    };
+
+    void onSave(Item item);
+    void onDelete(Long id);
+
+    default void onCreate(Item item) {
+        onSave(item);
+    }
+
+    default void onUpdate(Item item) {
+        onSave(item);
+    }
+
+    default void awaitDurable() {
+    }
+}
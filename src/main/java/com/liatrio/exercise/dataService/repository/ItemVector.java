@@ -0,0 +1,177 @@
+package com.liatrio.exercise.dataService.repository;
+
+import com.liatrio.exercise.dataService.model.Item;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+// Immutable sequence of item slots, stored as a trie of 32-slot arrays. A changed copy only
+// copies the arrays on the path to the changed slot, a handful for millions of items, and
+// shares the rest with the original, so holding on to a vector costs nothing more than
+// what later writes would have allocated anyway.
+//
+// Deleted items leave an empty slot behind, so the positions of the other items stay put.
+// Positions only change when the items are copied into a fresh vector, which gets a new
+// generation; changed copies keep the generation of the vector they were made from.
+final class ItemVector {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    static final ItemVector EMPTY = new ItemVector(EMPTY_NODE, 0, 0, 0, 0);
+
+    private final Object[] root;
+    private final int shift; // Index bits below the root's children; 0 when the root is a leaf
+    private final int size; // Slots in use, empty ones included
+    private final int live; // Slots holding an item
+    private final int generation;
+
+    private ItemVector(Object[] root, int shift, int size, int live, int generation) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+        this.live = live;
+        this.generation = generation;
+    }
+
+    // Builds the vector bottom-up, without the copying of repeated appends
+    static ItemVector of(List<Item> items, int generation) {
+        if (items.isEmpty()) {
+            return new ItemVector(EMPTY_NODE, 0, 0, 0, generation);
+        }
+
+        Object[][] level = new Object[(items.size() + MASK) >>> BITS][];
+        for (int i = 0; i < items.size(); i++) {
+            if (level[i >>> BITS] == null) {
+                level[i >>> BITS] = new Object[WIDTH];
+            }
+            level[i >>> BITS][i & MASK] = Objects.requireNonNull(items.get(i));
+        }
+
+        int shift = 0;
+        while (level.length > 1) {
+            Object[][] parents = new Object[(level.length + MASK) >>> BITS][];
+            for (int i = 0; i < level.length; i++) {
+                if (parents[i >>> BITS] == null) {
+                    parents[i >>> BITS] = new Object[WIDTH];
+                }
+                parents[i >>> BITS][i & MASK] = level[i];
+            }
+            level = parents;
+            shift += BITS;
+        }
+        return new ItemVector(level[0], shift, items.size(), items.size(), generation);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int live() {
+        return live;
+    }
+
+    int generation() {
+        return generation;
+    }
+
+    // The item in the slot, or null for an empty slot or a position past the end
+    Item get(int position) {
+        if (position < 0 || position >= size) {
+            return null;
+        }
+        return (Item) leafFor(position)[position & MASK];
+    }
+
+    ItemVector append(Item item) {
+        Objects.requireNonNull(item);
+        Object[] base = root;
+        int baseShift = shift;
+        if (size == 1 << (shift + BITS)) {
+            // The trie is full, so the current root becomes the first child of a new one
+            base = EMPTY_NODE.clone();
+            base[0] = root;
+            baseShift += BITS;
+        }
+        return new ItemVector(assoc(base, baseShift, size, item), baseShift, size + 1, live + 1, generation);
+    }
+
+    // Replaces the item in the slot; null empties it
+    ItemVector set(int position, Item item) {
+        Objects.checkIndex(position, size);
+        int change = (item == null ? 0 : 1) - (get(position) == null ? 0 : 1);
+        return new ItemVector(assoc(root, shift, position, item), shift, size, live + change, generation);
+    }
+
+    // Position of the first item matching the predicate, or size() if there is none
+    int find(int from, Predicate<Item> predicate) {
+        Cursor cursor = new Cursor(from);
+        while (cursor.hasNext()) {
+            if (predicate.test(cursor.next())) {
+                return cursor.position - 1;
+            }
+        }
+        return size;
+    }
+
+    // Items from the position on, skipping empty slots
+    Iterator<Item> iterator(int from) {
+        return new Cursor(from);
+    }
+
+    private Object[] leafFor(int position) {
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(position >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private static Object[] assoc(Object[] node, int shift, int position, Item item) {
+        Object[] copy = node.clone();
+        if (shift == 0) {
+            copy[position & MASK] = item;
+        } else {
+            int slot = (position >>> shift) & MASK;
+            Object[] child = (Object[]) node[slot];
+            copy[slot] = assoc(child == null ? EMPTY_NODE : child, shift - BITS, position, item);
+        }
+        return copy;
+    }
+
+    private final class Cursor implements Iterator<Item> {
+        private int position; // Next slot to look at
+        private Object[] leaf;
+        private Item next;
+
+        Cursor(int from) {
+            this.position = Math.max(from, 0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && position < size) {
+                if (leaf == null || (position & MASK) == 0) {
+                    leaf = leafFor(position);
+                }
+                next = (Item) leaf[position & MASK];
+                position++;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Item item = next;
+            next = null;
+            return item;
+        }
+    }
+}
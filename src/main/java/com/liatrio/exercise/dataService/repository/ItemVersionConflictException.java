@@ -0,0 +1,7 @@
+package com.liatrio.exercise.dataService.repository;
+
+public class ItemVersionConflictException extends IllegalStateException {
+    public ItemVersionConflictException(Long id, long expectedVersion, long actualVersion) {
+        super("Item with ID " + id + " is at version " + actualVersion + ", not " + expectedVersion);
+    }
+}
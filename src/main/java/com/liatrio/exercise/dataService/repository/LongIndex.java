@@ -0,0 +1,122 @@
+package com.liatrio.exercise.dataService.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+// Hash table from long keys to values that is read without locks and without boxing the
+// key. Writes must be serialized by the caller. Bucket chains are immutable: a write
+// publishes a new chain for its bucket that shares the unchanged tail, and a resize
+// publishes a new table, so a reader always walks a consistent chain.
+final class LongIndex<V> {
+    private static final VarHandle BUCKETS = MethodHandles.arrayElementVarHandle(Entry[].class);
+    private static final int INITIAL_BUCKETS = 16;
+
+    private volatile Entry<V>[] table = newTable(INITIAL_BUCKETS);
+    private volatile int size; // Only written by the writer
+
+    private record Entry<V>(long key, V value, Entry<V> next) {
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        Entry<V>[] buckets = table;
+        Entry<V> entry = (Entry<V>) BUCKETS.getAcquire(buckets, bucket(key, buckets.length));
+        while (entry != null) {
+            if (entry.key == key) {
+                return entry.value;
+            }
+            entry = entry.next;
+        }
+        return null;
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Returns the value replaced, or null
+    V put(long key, V value) {
+        Entry<V>[] buckets = table;
+        int bucket = bucket(key, buckets.length);
+        Entry<V> head = buckets[bucket];
+        V previous = find(head, key);
+        Entry<V> rest = previous == null ? head : without(head, key);
+        BUCKETS.setRelease(buckets, bucket, new Entry<>(key, value, rest));
+
+        if (previous == null) {
+            size = size + 1;
+            if (size > buckets.length - (buckets.length >>> 2)) {
+                resize(buckets.length * 2);
+            }
+        }
+        return previous;
+    }
+
+    // Returns the value removed, or null
+    V remove(long key) {
+        Entry<V>[] buckets = table;
+        int bucket = bucket(key, buckets.length);
+        Entry<V> head = buckets[bucket];
+        V previous = find(head, key);
+        if (previous != null) {
+            BUCKETS.setRelease(buckets, bucket, without(head, key));
+            size = size - 1;
+        }
+        return previous;
+    }
+
+    void clear() {
+        table = newTable(INITIAL_BUCKETS);
+        size = 0;
+    }
+
+    void forEachValue(Consumer<V> action) {
+        for (Entry<V> head : table) {
+            for (Entry<V> entry = head; entry != null; entry = entry.next) {
+                action.accept(entry.value);
+            }
+        }
+    }
+
+    // The new table is filled before it is published, so readers see it complete
+    private void resize(int capacity) {
+        Entry<V>[] buckets = newTable(capacity);
+        for (Entry<V> head : table) {
+            for (Entry<V> entry = head; entry != null; entry = entry.next) {
+                int bucket = bucket(entry.key, capacity);
+                buckets[bucket] = new Entry<>(entry.key, entry.value, buckets[bucket]);
+            }
+        }
+        table = buckets;
+    }
+
+    private static <V> V find(Entry<V> entry, long key) {
+        while (entry != null && entry.key != key) {
+            entry = entry.next;
+        }
+        return entry == null ? null : entry.value;
+    }
+
+    // Copies the entries ahead of the key and shares the ones behind it
+    private static <V> Entry<V> without(Entry<V> entry, long key) {
+        if (entry.key == key) {
+            return entry.next;
+        }
+        return new Entry<>(entry.key, entry.value, without(entry.next, key));
+    }
+
+    private static int bucket(long key, int buckets) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & (buckets - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Entry<V>[] newTable(int capacity) {
+        return (Entry<V>[]) new Entry[capacity];
+    }
+}
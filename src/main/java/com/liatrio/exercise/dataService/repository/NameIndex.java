@@ -0,0 +1,93 @@
+package com.liatrio.exercise.dataService.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+// Secondary indexes on Item.name: a hash index for exact matches and a sorted index for
+// prefix queries, both updated incrementally. Readers may run concurrently with a writer,
+// but writers must be serialized by the repository. Null names are not indexed.
+//
+// Lookups are weakly consistent, so repositories re-check the name of every item found.
+final class NameIndex {
+    // Values are a Long while a single item has the name, which is the common case and
+    // costs no more than the map entry, or a ConcurrentSkipListSet<Long> of IDs once
+    // several items share it. Both maps always hold the same value object for a name.
+    private final ConcurrentHashMap<String, Object> exact = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Object> sorted = new ConcurrentSkipListMap<>();
+
+    void add(long id, String name) {
+        if (name == null) {
+            return;
+        }
+
+        Object ids = exact.get(name);
+        Object updated;
+        if (ids == null) {
+            updated = id;
+        } else if (ids instanceof Long single) {
+            ConcurrentSkipListSet<Long> shared = new ConcurrentSkipListSet<>();
+            shared.add(single);
+            shared.add(id);
+            updated = shared;
+        } else {
+            asSet(ids).add(id);
+            return;
+        }
+        exact.put(name, updated);
+        sorted.put(name, updated);
+    }
+
+    void remove(long id, String name) {
+        if (name == null) {
+            return;
+        }
+
+        Object ids = exact.get(name);
+        if (ids instanceof Long single) {
+            if (single == id) {
+                exact.remove(name);
+                sorted.remove(name);
+            }
+        } else if (ids != null) {
+            ConcurrentSkipListSet<Long> shared = asSet(ids);
+            shared.remove(id);
+            if (shared.isEmpty()) {
+                exact.remove(name, shared);
+                sorted.remove(name, shared);
+            }
+        }
+    }
+
+    void clear() {
+        exact.clear();
+        sorted.clear();
+    }
+
+    // IDs of the items with exactly this name, in ascending order
+    Stream<Long> idsWithName(String name) {
+        return ids(exact.get(name));
+    }
+
+    // IDs of the items whose name starts with prefix, ordered by name and then ID
+    Stream<Long> idsWithPrefix(String prefix) {
+        return sorted.tailMap(prefix, true).entrySet().stream()
+                .takeWhile(entry -> entry.getKey().startsWith(prefix))
+                .map(Map.Entry::getValue)
+                .flatMap(NameIndex::ids);
+    }
+
+    private static Stream<Long> ids(Object ids) {
+        if (ids == null) {
+            return Stream.empty();
+        }
+        return ids instanceof Long single ? Stream.of(single) : asSet(ids).stream();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentSkipListSet<Long> asSet(Object ids) {
+        return (ConcurrentSkipListSet<Long>) ids;
+    }
+}
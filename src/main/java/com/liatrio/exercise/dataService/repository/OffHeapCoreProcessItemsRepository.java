@@ -0,0 +1,793 @@
+package com.liatrio.exercise.dataService.repository;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.id.ItemIdGenerator;
+import com.liatrio.exercise.dataService.repository.id.SequentialIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Repository(RepositoryConfiguration.ITEM_STORE)
+@ConditionalOnProperty(prefix = "dataservice.repository", name = "engine", havingValue = "off-heap")
+public class OffHeapCoreProcessItemsRepository implements CoreProcessItemsRepository {
+    // Names are stored as UTF-8 in direct (off-heap) slabs, and ids and name addresses in
+    // primitive arrays, so the heap holds a handful of large objects however many items
+    // there are. Item records are only materialized when they are read.
+    //
+    // Items occupy slots in insertion order. Deleting leaves a tombstone slot and renaming
+    // leaves the old name behind as garbage; both are reclaimed by compaction.
+    private static final int SLAB_BYTES = 1 << 20;
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int STREAM_BATCH_SIZE = 256;
+    private static final int NAME_RUN_CAPACITY = 512;
+    private static final long DELETED = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntIndex index = new LongIntIndex(INITIAL_SLOTS); // id -> slot
+    private final SlabNameIndex nameIndex = new SlabNameIndex();
+    private final DeletedCursors deletedCursors = new DeletedCursors();
+    private List<ByteBuffer> slabs = new ArrayList<>();
+    private long[] slotIds = new long[INITIAL_SLOTS];
+    private long[] slotAddresses = new long[INITIAL_SLOTS]; // slab index << 32 | offset, or DELETED
+    private long[] slotVersions = new long[INITIAL_SLOTS];
+    private int slotCount;
+    private int liveCount;
+    private long liveNameBytes;
+    private long garbageNameBytes;
+    private final ItemIdGenerator idGenerator;
+    private long version;
+
+    public OffHeapCoreProcessItemsRepository() {
+        this(new SequentialIdGenerator(3)); // Start after our 3 initial items
+    }
+
+    @Autowired
+    public OffHeapCoreProcessItemsRepository(ItemIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+
+        // Initialize with some data for testing
+        appendIndexed(1L, "Item 1", 0);
+        appendIndexed(2L, "Item 2", 0);
+        appendIndexed(3L, "Item 3", 0);
+        idGenerator.advancePast(3);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Item> result = new ArrayList<>(liveCount);
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (slotAddresses[slot] != DELETED) {
+                    result.add(materialize(slot));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        return Optional.ofNullable(findItem(id));
+    }
+
+    @Override
+    public Item findItem(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = index.get(id);
+            return slot < 0 ? null : materialize(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Item save(Item item) {
+        lock.writeLock().lock();
+        try {
+            return saveLocked(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (!deleteLocked(id)) {
+                throw new IllegalArgumentException("Item with ID " + id + " not found");
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Item update(Item item) {
+        lock.writeLock().lock();
+        try {
+            if (!updateLocked(item)) {
+                throw new IllegalArgumentException("Item with ID " + item.id() + " not found");
+            }
+            return item;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        List<Item> saved = new ArrayList<>(items.size());
+        lock.writeLock().lock();
+        try {
+            for (Item item : items) {
+                saved.add(saveLocked(item));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return saved;
+    }
+
+    @Override
+    public List<Optional<Item>> updateAll(List<Item> items) {
+        List<Optional<Item>> updated = new ArrayList<>(items.size());
+        lock.writeLock().lock();
+        try {
+            for (Item item : items) {
+                updated.add(updateLocked(item) ? Optional.of(item) : Optional.empty());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return updated;
+    }
+
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        List<Boolean> deleted = new ArrayList<>(ids.size());
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                deleted.add(deleteLocked(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Item> page = new ArrayList<>(Math.min(limit, liveCount));
+            for (int slot = firstSlotAfter(afterId); slot < slotCount && page.size() < limit; slot++) {
+                if (slotAddresses[slot] != DELETED) {
+                    page.add(materialize(slot));
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findByName(String name, int limit) {
+        lock.readLock().lock();
+        try {
+            return nameIndex.find(name.getBytes(StandardCharsets.UTF_8), false, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findByNamePrefix(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return nameIndex.find(prefix.getBytes(StandardCharsets.UTF_8), true, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Materializes the items a batch at a time so a slow consumer never holds the read lock
+    @Override
+    public Stream<Item> streamAll() {
+        Iterator<Item> iterator = new Iterator<>() {
+            private Iterator<Item> batch = findPage(null, STREAM_BATCH_SIZE).iterator();
+            private Long lastId;
+
+            @Override
+            public boolean hasNext() {
+                if (!batch.hasNext() && lastId != null) {
+                    batch = findPage(lastId, STREAM_BATCH_SIZE).iterator();
+                    lastId = null;
+                }
+                return batch.hasNext();
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Item item = batch.next();
+                lastId = item.id();
+                return item;
+            }
+        };
+        Spliterator<Item> spliterator = Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalLong versionOf(Long id) {
+        long itemVersion = itemVersion(id);
+        return itemVersion == NO_VERSION ? OptionalLong.empty() : OptionalLong.of(itemVersion);
+    }
+
+    @Override
+    public long itemVersion(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = index.get(id);
+            return slot < 0 ? NO_VERSION : slotVersions[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long updateIfVersion(Item item, long expectedVersion) {
+        lock.writeLock().lock();
+        try {
+            int slot = index.get(item.id());
+            if (slot < 0) {
+                throw new IllegalArgumentException("Item with ID " + item.id() + " not found");
+            }
+            if (slotVersions[slot] != expectedVersion) {
+                throw new ItemVersionConflictException(item.id(), expectedVersion, slotVersions[slot]);
+            }
+            updateLocked(item);
+            return version;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Off-heap bytes currently reserved for names, including garbage not yet compacted
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return slabs.stream().mapToLong(ByteBuffer::capacity).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Must hold the write lock
+    private Item saveLocked(Item item) {
+        // Handle creation with autogenerated ID, skipping IDs meanwhile assigned explicitly
+        if (item.id() == null) {
+            long id;
+            do {
+                id = idGenerator.nextId();
+            } while (index.get(id) >= 0);
+            Item newItem = new Item(id, item.name());
+            appendIndexed(newItem.id(), newItem.name(), ++version);
+            return newItem;
+        }
+
+        // Never hand out an ID that was assigned explicitly
+        idGenerator.advancePast(item.id());
+
+        // Replace the existing item in place or, if not found, treat as new
+        if (!updateLocked(item)) {
+            appendIndexed(item.id(), item.name(), ++version);
+        }
+        return item;
+    }
+
+    // Must hold the write lock
+    private boolean updateLocked(Item item) {
+        int slot = index.get(item.id());
+        if (slot < 0) {
+            return false;
+        }
+
+        // The index finds the item's entry by its name, so it moves before the name changes
+        byte[] previousName = nameBytes(slotAddresses[slot]);
+        byte[] name = utf8(item.name());
+        boolean renamed = !Arrays.equals(previousName, name);
+        if (renamed) {
+            nameIndex.remove(item.id(), previousName);
+        }
+        discardName(slotAddresses[slot]);
+        slotAddresses[slot] = writeName(name);
+        if (renamed) {
+            nameIndex.add(item.id(), name);
+        }
+        slotVersions[slot] = ++version;
+        compactIfWorthwhile();
+        return true;
+    }
+
+    // Must hold the write lock
+    private boolean deleteLocked(Long id) {
+        int slot = index.remove(id);
+        if (slot < 0) {
+            return false;
+        }
+
+        nameIndex.remove(id, nameBytes(slotAddresses[slot]));
+        deletedCursors.add(id, slot + 1);
+        discardName(slotAddresses[slot]);
+        slotAddresses[slot] = DELETED;
+        liveCount--;
+        version++;
+        compactIfWorthwhile();
+        return true;
+    }
+
+    // Must hold the write lock, except during construction
+    private void appendIndexed(long id, String name, long itemVersion) {
+        byte[] bytes = utf8(name);
+        append(id, bytes, itemVersion);
+        nameIndex.add(id, bytes);
+    }
+
+    // Must hold the write lock, except during construction. Compaction appends
+    // items that are already indexed, so this leaves the name index alone.
+    private void append(long id, byte[] name, long itemVersion) {
+        if (slotCount == slotIds.length) {
+            slotIds = Arrays.copyOf(slotIds, slotCount * 2);
+            slotAddresses = Arrays.copyOf(slotAddresses, slotCount * 2);
+            slotVersions = Arrays.copyOf(slotVersions, slotCount * 2);
+        }
+        slotIds[slotCount] = id;
+        slotAddresses[slotCount] = writeName(name);
+        slotVersions[slotCount] = itemVersion;
+        index.put(id, slotCount);
+        slotCount++;
+        liveCount++;
+    }
+
+    // Must hold a lock
+    private int firstSlotAfter(Long afterId) {
+        if (afterId == null) {
+            return 0;
+        }
+
+        int cursor = index.get(afterId);
+        if (cursor >= 0) {
+            return cursor + 1;
+        }
+
+        // The cursor item has been deleted since the previous page was served
+        DeletedCursors.Tombstone tombstone = deletedCursors.get(afterId);
+        if (tombstone != null) {
+            return Math.min(tombstone.resume(), slotCount);
+        }
+
+        // Too long ago to have kept a tombstone, or never there. Sequential IDs ascend in
+        // insertion order, so resume at the first item with a greater ID.
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slotAddresses[slot] != DELETED && slotIds[slot] > afterId) {
+                return slot;
+            }
+        }
+        return slotCount;
+    }
+
+    // Must hold a lock
+    private Item materialize(int slot) {
+        byte[] name = nameBytes(slotAddresses[slot]);
+        return new Item(slotIds[slot], name == null ? null : new String(name, StandardCharsets.UTF_8));
+    }
+
+    // Must hold a lock. Null for a null name.
+    private byte[] nameBytes(long address) {
+        ByteBuffer slab = slabs.get((int) (address >>> 32));
+        int offset = (int) address;
+        int length = slab.getInt(offset);
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] name = new byte[length];
+        slab.get(offset + Integer.BYTES, name);
+        return name;
+    }
+
+    private static byte[] utf8(String name) {
+        return name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Must hold the write lock. Each name is an int byte length (-1 for null) followed by its UTF-8 bytes.
+    private long writeName(byte[] bytes) {
+        int recordBytes = Integer.BYTES + (bytes == null ? 0 : bytes.length);
+
+        ByteBuffer slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+        if (slab == null || slab.remaining() < recordBytes) {
+            slab = ByteBuffer.allocateDirect(Math.max(SLAB_BYTES, recordBytes));
+            slabs.add(slab);
+        }
+
+        long address = (long) (slabs.size() - 1) << 32 | slab.position();
+        slab.putInt(bytes == null ? -1 : bytes.length);
+        if (bytes != null) {
+            slab.put(bytes);
+        }
+        liveNameBytes += recordBytes;
+        return address;
+    }
+
+    // Must hold the write lock
+    private void discardName(long address) {
+        ByteBuffer slab = slabs.get((int) (address >>> 32));
+        int recordBytes = Integer.BYTES + Math.max(0, slab.getInt((int) address));
+        liveNameBytes -= recordBytes;
+        garbageNameBytes += recordBytes;
+    }
+
+    // Must hold the write lock. Rewrites live names into fresh slabs and drops tombstone
+    // slots once at least half of either is dead, which keeps compaction amortized O(1).
+    private void compactIfWorthwhile() {
+        boolean nameGarbage = garbageNameBytes > SLAB_BYTES && garbageNameBytes > liveNameBytes;
+        boolean slotGarbage = slotCount > INITIAL_SLOTS && slotCount - liveCount > liveCount;
+        if (!nameGarbage && !slotGarbage) {
+            return;
+        }
+
+        List<ByteBuffer> oldSlabs = slabs;
+        long[] oldIds = slotIds;
+        long[] oldAddresses = slotAddresses;
+        long[] oldVersions = slotVersions;
+        int oldCount = slotCount;
+
+        int capacity = Math.max(INITIAL_SLOTS, Integer.highestOneBit(Math.max(1, liveCount)) * 2);
+        slabs = new ArrayList<>();
+        slotIds = new long[capacity];
+        slotAddresses = new long[capacity];
+        slotVersions = new long[capacity];
+        slotCount = 0;
+        liveCount = 0;
+        liveNameBytes = 0;
+        garbageNameBytes = 0;
+        index.clear();
+
+        int[] newSlots = new int[oldCount + 1];
+        for (int slot = 0; slot < oldCount; slot++) {
+            newSlots[slot] = slotCount;
+            long address = oldAddresses[slot];
+            if (address == DELETED) {
+                continue;
+            }
+
+            ByteBuffer slab = oldSlabs.get((int) (address >>> 32));
+            int offset = (int) address;
+            int length = slab.getInt(offset);
+            byte[] name = null;
+            if (length >= 0) {
+                name = new byte[length];
+                slab.get(offset + Integer.BYTES, name);
+            }
+            append(oldIds[slot], name, oldVersions[slot]);
+        }
+        newSlots[oldCount] = slotCount;
+        deletedCursors.renumber(newSlots);
+    }
+
+    // IDs of the items with a name, sorted by name and then ID, in runs of up to
+    // NAME_RUN_CAPACITY that split when full. Only the IDs are kept: names are compared as
+    // their UTF-8 bytes in the slabs, so the heap holds no copy of them and the order is
+    // that of the bytes, which is code point order. Moving items between slabs leaves it
+    // untouched. Must hold a lock to read and the write lock to change.
+    private final class SlabNameIndex {
+        private final List<long[]> runs = new ArrayList<>();
+        private int[] runSizes = new int[16];
+
+        // Must be called with the item's entry absent
+        void add(long id, byte[] name) {
+            if (name == null) {
+                return;
+            }
+            if (runs.isEmpty()) {
+                long[] ids = new long[NAME_RUN_CAPACITY];
+                ids[0] = id;
+                runs.add(ids);
+                runSizes[0] = 1;
+                return;
+            }
+
+            int run = runAtOrAfter(name, id);
+            int at;
+            if (run == runs.size()) {
+                run--;
+                at = runSizes[run];
+            } else {
+                at = positionInRun(run, name, id);
+            }
+
+            // Split a full run in halves and insert into the half the position falls in
+            if (runSizes[run] == NAME_RUN_CAPACITY) {
+                int half = NAME_RUN_CAPACITY / 2;
+                long[] upper = new long[NAME_RUN_CAPACITY];
+                System.arraycopy(runs.get(run), half, upper, 0, NAME_RUN_CAPACITY - half);
+                runs.add(run + 1, upper);
+                if (runs.size() > runSizes.length) {
+                    runSizes = Arrays.copyOf(runSizes, runSizes.length * 2);
+                }
+                System.arraycopy(runSizes, run + 1, runSizes, run + 2, runs.size() - run - 2);
+                runSizes[run] = half;
+                runSizes[run + 1] = NAME_RUN_CAPACITY - half;
+                if (at > half) {
+                    run++;
+                    at -= half;
+                }
+            }
+
+            long[] ids = runs.get(run);
+            System.arraycopy(ids, at, ids, at + 1, runSizes[run] - at);
+            ids[at] = id;
+            runSizes[run]++;
+        }
+
+        // name is the one the entry was added with, which the item may no longer have
+        void remove(long id, byte[] name) {
+            if (name == null) {
+                return;
+            }
+
+            int run = runAtOrAfter(name, id);
+            if (run == runs.size()) {
+                return;
+            }
+            int at = positionInRun(run, name, id);
+            long[] ids = runs.get(run);
+            if (at == runSizes[run] || ids[at] != id) {
+                return;
+            }
+
+            System.arraycopy(ids, at + 1, ids, at, runSizes[run] - at - 1);
+            if (--runSizes[run] == 0) {
+                runs.remove(run);
+                System.arraycopy(runSizes, run + 1, runSizes, run, runs.size() - run);
+            }
+        }
+
+        // The items named exactly name, or starting with it, in index order
+        List<Item> find(byte[] name, boolean prefix, int limit) {
+            List<Item> found = new ArrayList<>(Math.min(limit, 16));
+            int run = runAtOrAfter(name, Long.MIN_VALUE);
+            int at = run == runs.size() ? 0 : positionInRun(run, name, Long.MIN_VALUE);
+            for (; run < runs.size(); run++, at = 0) {
+                long[] ids = runs.get(run);
+                for (; at < runSizes[run]; at++) {
+                    if (found.size() == limit || !matches(ids[at], name, prefix)) {
+                        return found;
+                    }
+                    found.add(materialize(index.get(ids[at])));
+                }
+            }
+            return found;
+        }
+
+        // The first run whose last entry is not before (name, id), or the number of runs
+        private int runAtOrAfter(byte[] name, long id) {
+            int low = 0;
+            int high = runs.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(runs.get(mid)[runSizes[mid] - 1], name, id) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // The first position in the run whose entry is not before (name, id)
+        private int positionInRun(int run, byte[] name, long id) {
+            long[] ids = runs.get(run);
+            int low = 0;
+            int high = runSizes[run];
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(ids[mid], name, id) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // The entry of the item itself is equal whatever name it now has in the slabs
+        private int compare(long entry, byte[] name, long id) {
+            if (entry == id) {
+                return 0;
+            }
+            int byName = compareName(entry, name);
+            return byName != 0 ? byName : Long.compare(entry, id);
+        }
+
+        // Whether the stored name of an indexed item equals name, or starts with it
+        private boolean matches(long entry, byte[] name, boolean prefix) {
+            long address = slotAddresses[index.get(entry)];
+            ByteBuffer slab = slabs.get((int) (address >>> 32));
+            int offset = (int) address;
+            int stored = slab.getInt(offset);
+            if (prefix ? stored < name.length : stored != name.length) {
+                return false;
+            }
+            for (int i = 0; i < name.length; i++) {
+                if (slab.get(offset + Integer.BYTES + i) != name[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Compares the stored name of an indexed item with name as unsigned bytes
+        private int compareName(long entry, byte[] name) {
+            long address = slotAddresses[index.get(entry)];
+            ByteBuffer slab = slabs.get((int) (address >>> 32));
+            int offset = (int) address;
+            int stored = slab.getInt(offset);
+            int common = Math.min(stored, name.length);
+            for (int i = 0; i < common; i++) {
+                int byByte = Integer.compare(slab.get(offset + Integer.BYTES + i) & 0xFF, name[i] & 0xFF);
+                if (byByte != 0) {
+                    return byByte;
+                }
+            }
+            return Integer.compare(stored, name.length);
+        }
+    }
+
+    // Open-addressing hash table from long keys to non-negative int values, using linear
+    // probing and backward-shift deletion so no boxing or tombstones are involved
+    private static final class LongIntIndex {
+        private static final int EMPTY = -1;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        LongIntIndex(int expectedSize) {
+            allocate(tableSizeFor(expectedSize));
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; values[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return EMPTY;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 4L > keys.length * 3L) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (values[i] != EMPTY) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (values[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] == EMPTY) {
+                return EMPTY;
+            }
+
+            int removed = values[i];
+            size--;
+
+            // Shift later entries of the probe run back so lookups never stop early
+            int gap = i;
+            for (int j = (gap + 1) & mask; values[j] != EMPTY; j = (j + 1) & mask) {
+                int home = hash(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            values[gap] = EMPTY;
+            return removed;
+        }
+
+        void clear() {
+            Arrays.fill(values, EMPTY);
+            size = 0;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(capacity);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(values, EMPTY);
+        }
+
+        private static int tableSizeFor(int expectedSize) {
+            return Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize * 2 - 1)) * 2);
+        }
+
+        private static int hash(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.liatrio.exercise.dataService.repository;
+
+import com.liatrio.exercise.dataService.model.Item;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Non-blocking counterpart of CoreProcessItemsRepository. deleteById and update signal
+// IllegalArgumentException for unknown IDs, like their blocking versions throw it.
+public interface ReactiveCoreProcessItemsRepository {
+    Flux<Item> findAll();
+    Mono<List<Item>> findPage(Long afterId, int limit);
+    Mono<List<Item>> findByName(String name, int limit);
+    Mono<List<Item>> findByNamePrefix(String prefix, int limit);
+    Mono<Item> findById(Long id);
+    Mono<Item> save(Item item);
+    Mono<Void> deleteById(Long id);
+    Mono<Item> update(Item item);
+}
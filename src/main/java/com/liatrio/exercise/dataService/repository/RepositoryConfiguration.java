@@ -0,0 +1,26 @@
+package com.liatrio.exercise.dataService.repository;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class RepositoryConfiguration {
+
+    // Bean name of the selected storage engine, for components that need the undecorated store
+    public static final String ITEM_STORE = "itemStore";
+
+    @Bean
+    @Primary
+    public CoreProcessItemsRepository coreProcessItemsRepository(
+            @Qualifier(ITEM_STORE) CoreProcessItemsRepository store,
+            ObjectProvider<CoreProcessItemsRepositoryDecorator> decorators) {
+        CoreProcessItemsRepository repository = store;
+        for (CoreProcessItemsRepositoryDecorator decorator : decorators.orderedStream().toList()) {
+            repository = decorator.decorate(repository);
+        }
+        return repository;
+    }
+}
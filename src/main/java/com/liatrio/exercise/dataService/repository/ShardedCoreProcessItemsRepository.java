@@ -0,0 +1,544 @@
+package com.liatrio.exercise.dataService.repository;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.id.ItemIdGenerator;
+import com.liatrio.exercise.dataService.repository.id.SequentialIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Repository(RepositoryConfiguration.ITEM_STORE)
+@ConditionalOnProperty(prefix = "dataservice.repository", name = "engine", havingValue = "sharded")
+public class ShardedCoreProcessItemsRepository implements CoreProcessItemsRepository {
+    // Items are hash-partitioned by id across independent shards, each an id-ordered skip
+    // list with its own name index and write lock, so writers to different shards never
+    // contend. Reads never lock. Queries spanning shards merge the id-ordered shards, so
+    // findAll, paging and streaming return items in ID order.
+    private static final int MAX_SHARDS = 1024;
+    private static final int PARALLEL_FIND_ALL_THRESHOLD = 1 << 14;
+    private static final Comparator<Item> BY_ID = Comparator.comparing(Item::id);
+    private static final Comparator<Item> BY_NAME_THEN_ID = Comparator.comparing(Item::name).thenComparing(Item::id);
+
+    private final Shard[] shards;
+    private final int mask;
+    private final int shardBits;
+    private final ItemIdGenerator idGenerator; // Drawn outside the shard locks
+
+    public ShardedCoreProcessItemsRepository(int shardCount) {
+        this(shardCount, new SequentialIdGenerator(3)); // Start after our 3 initial items
+    }
+
+    @Autowired
+    public ShardedCoreProcessItemsRepository(@Value("${dataservice.repository.shards:16}") int shardCount,
+                                             ItemIdGenerator idGenerator) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + MAX_SHARDS + ", was " + shardCount);
+        }
+        // A power of two, so the shard is picked with a mask
+        int size = Integer.highestOneBit(shardCount);
+        if (size < shardCount) {
+            size <<= 1;
+        }
+        this.shards = new Shard[size];
+        this.mask = size - 1;
+        this.shardBits = Integer.numberOfTrailingZeros(size);
+        this.idGenerator = idGenerator;
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard(i);
+        }
+
+        // Initialize with some data for testing
+        for (long id = 1; id <= 3; id++) {
+            shardFor(id).seed(new Item(id, "Item " + id));
+        }
+        idGenerator.advancePast(3);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public List<Item> findAll() {
+        // Large shards are copied out in parallel, then merged into ID order
+        IntStream shardIndexes = IntStream.range(0, shards.length);
+        if (shards.length > 1 && count() >= PARALLEL_FIND_ALL_THRESHOLD) {
+            shardIndexes = shardIndexes.parallel();
+        }
+        List<List<Item>> parts = shardIndexes.mapToObj(i -> shards[i].snapshot()).toList();
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        List<Iterator<Item>> iterators = new ArrayList<>(parts.size());
+        int total = 0;
+        for (List<Item> part : parts) {
+            iterators.add(part.iterator());
+            total += part.size();
+        }
+        List<Item> result = new ArrayList<>(total);
+        new MergingIterator(iterators, BY_ID).forEachRemaining(result::add);
+        return result;
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        return Optional.ofNullable(findItem(id));
+    }
+
+    // The skip list is keyed by boxed IDs, so these still box the key but skip the Optional
+    @Override
+    public Item findItem(long id) {
+        Entry entry = shardFor(id).items.get(id);
+        return entry == null ? null : entry.item;
+    }
+
+    @Override
+    public Item save(Item item) {
+        if (item.id() != null) {
+            // Never hand out an ID that was assigned explicitly
+            idGenerator.advancePast(item.id());
+            Shard shard = shardFor(item.id());
+            shard.lock.lock();
+            try {
+                return shard.putLocked(item);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+
+        while (true) {
+            Item saved = create(new Item(idGenerator.nextId(), item.name()));
+            if (saved != null) {
+                return saved;
+            }
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            if (!shard.deleteLocked(id)) {
+                throw new IllegalArgumentException("Item with ID " + id + " not found");
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public Item update(Item item) {
+        Shard shard = shardFor(item.id());
+        shard.lock.lock();
+        try {
+            if (shard.updateLocked(item) < 0) {
+                throw new IllegalArgumentException("Item with ID " + item.id() + " not found");
+            }
+            return item;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // Entries are applied shard by shard, taking each shard's lock once. Entries for the
+    // same ID always share a shard, so they are still applied in request order.
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        Item[] toSave = new Item[items.size()];
+        boolean[] generated = new boolean[items.size()];
+        for (int i = 0; i < toSave.length; i++) {
+            Item item = items.get(i);
+            if (item.id() == null) {
+                toSave[i] = new Item(idGenerator.nextId(), item.name());
+                generated[i] = true;
+            } else {
+                idGenerator.advancePast(item.id());
+                toSave[i] = item;
+            }
+        }
+
+        Item[] saved = new Item[toSave.length];
+        forEachShard(toSave.length, i -> toSave[i].id(), (shard, i) ->
+                saved[i] = generated[i] ? shard.createLocked(toSave[i]) : shard.putLocked(toSave[i]));
+
+        // A generated ID taken meanwhile by an explicitly assigned one is drawn again
+        for (int i = 0; i < saved.length; i++) {
+            if (saved[i] == null) {
+                saved[i] = save(new Item(null, toSave[i].name()));
+            }
+        }
+        return Arrays.asList(saved);
+    }
+
+    @Override
+    public List<Optional<Item>> updateAll(List<Item> items) {
+        @SuppressWarnings("unchecked")
+        Optional<Item>[] updated = new Optional[items.size()];
+        forEachShard(items.size(), i -> items.get(i).id(), (shard, i) -> {
+            Item item = items.get(i);
+            updated[i] = shard.updateLocked(item) < 0 ? Optional.empty() : Optional.of(item);
+        });
+        return Arrays.asList(updated);
+    }
+
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        Boolean[] deleted = new Boolean[ids.size()];
+        forEachShard(ids.size(), ids::get, (shard, i) -> deleted[i] = shard.deleteLocked(ids.get(i)));
+        return Arrays.asList(deleted);
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        List<Iterator<Item>> iterators = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            iterators.add(shard.iteratorAfter(afterId));
+        }
+        MergingIterator merged = new MergingIterator(iterators, BY_ID);
+        List<Item> page = new ArrayList<>(Math.min(limit, 1024));
+        while (page.size() < limit && merged.hasNext()) {
+            page.add(merged.next());
+        }
+        return page;
+    }
+
+    @Override
+    public List<Item> findByName(String name, int limit) {
+        return mergeLimited(shard -> shard.findByName(name, limit), BY_ID, limit);
+    }
+
+    @Override
+    public List<Item> findByNamePrefix(String prefix, int limit) {
+        return mergeLimited(shard -> shard.findByNamePrefix(prefix, limit), BY_NAME_THEN_ID, limit);
+    }
+
+    @Override
+    public Stream<Item> streamAll() {
+        List<Iterator<Item>> iterators = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            iterators.add(shard.iteratorAfter(null));
+        }
+        Spliterator<Item> spliterator = Spliterators.spliteratorUnknownSize(
+                new MergingIterator(iterators, BY_ID), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (Shard shard : shards) {
+            count += shard.size;
+        }
+        return count;
+    }
+
+    // The sum of the shards' mutation counts. Each count is only advanced after its change is
+    // visible and never decreases, so the sum grows with every mutation and a sum read before
+    // the data can only be older than the data.
+    @Override
+    public long version() {
+        long version = 0;
+        for (Shard shard : shards) {
+            version += shard.mutations;
+        }
+        return version;
+    }
+
+    @Override
+    public OptionalLong versionOf(Long id) {
+        Entry entry = shardFor(id).items.get(id);
+        return entry == null ? OptionalLong.empty() : OptionalLong.of(entry.version);
+    }
+
+    @Override
+    public long itemVersion(long id) {
+        Entry entry = shardFor(id).items.get(id);
+        return entry == null ? NO_VERSION : entry.version;
+    }
+
+    @Override
+    public long updateIfVersion(Item item, long expectedVersion) {
+        Shard shard = shardFor(item.id());
+        shard.lock.lock();
+        try {
+            Entry entry = shard.items.get(item.id());
+            if (entry == null) {
+                throw new IllegalArgumentException("Item with ID " + item.id() + " not found");
+            }
+            if (entry.version != expectedVersion) {
+                throw new ItemVersionConflictException(item.id(), expectedVersion, entry.version);
+            }
+            return shard.updateLocked(item);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // Null when the generated ID has meanwhile been assigned explicitly
+    private Item create(Item item) {
+        Shard shard = shardFor(item.id());
+        shard.lock.lock();
+        try {
+            return shard.createLocked(item);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private Shard shardFor(long id) {
+        return shards[shardIndex(id)];
+    }
+
+    // Fibonacci hashing spreads sequential IDs evenly over the shards
+    private int shardIndex(long id) {
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    // Calls action(shard, i) for every index, grouped by the shard owning the index's ID and
+    // holding that shard's lock
+    private void forEachShard(int count, IntToLongFunction idOf, ShardAction action) {
+        int[] next = new int[count];
+        int[] first = new int[shards.length];
+        int[] last = new int[shards.length];
+        Arrays.fill(first, -1);
+        for (int i = 0; i < count; i++) {
+            int shard = shardIndex(idOf.applyAsLong(i));
+            next[i] = -1;
+            if (first[shard] < 0) {
+                first[shard] = i;
+            } else {
+                next[last[shard]] = i;
+            }
+            last[shard] = i;
+        }
+
+        for (int s = 0; s < shards.length; s++) {
+            if (first[s] < 0) {
+                continue;
+            }
+            Shard shard = shards[s];
+            shard.lock.lock();
+            try {
+                for (int i = first[s]; i >= 0; i = next[i]) {
+                    action.apply(shard, i);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private List<Item> mergeLimited(Function<Shard, List<Item>> query, Comparator<Item> order, int limit) {
+        List<Iterator<Item>> iterators = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            iterators.add(query.apply(shard).iterator());
+        }
+        MergingIterator merged = new MergingIterator(iterators, order);
+        List<Item> result = new ArrayList<>();
+        while (result.size() < limit && merged.hasNext()) {
+            result.add(merged.next());
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface ShardAction {
+        void apply(Shard shard, int index);
+    }
+
+    private record Entry(Item item, long version) {
+    }
+
+    private final class Shard {
+        final ConcurrentSkipListMap<Long, Entry> items = new ConcurrentSkipListMap<>();
+        final NameIndex names = new NameIndex();
+        final ReentrantLock lock = new ReentrantLock();
+        final int index;
+        volatile int size; // Only written under lock
+        volatile long mutations; // Only advanced under lock, after the change is visible
+        private long versionCounter; // Only advanced under lock
+
+        Shard(int index) {
+            this.index = index;
+        }
+
+        // Only during construction
+        void seed(Item item) {
+            items.put(item.id(), new Entry(item, 0));
+            names.add(item.id(), item.name());
+            size++;
+        }
+
+        // Must hold lock. Returns null if the ID is already taken.
+        Item createLocked(Item item) {
+            if (items.containsKey(item.id())) {
+                return null;
+            }
+            insertLocked(item);
+            return item;
+        }
+
+        // Must hold lock. Replaces the existing item or, if not found, treats it as new.
+        Item putLocked(Item item) {
+            if (updateLocked(item) < 0) {
+                insertLocked(item);
+            }
+            return item;
+        }
+
+        // Must hold lock. Returns the item's new version, or -1 if it is not found.
+        long updateLocked(Item item) {
+            Entry existing = items.get(item.id());
+            if (existing == null) {
+                return -1;
+            }
+            long version = nextVersion();
+            if (!Objects.equals(existing.item.name(), item.name())) {
+                names.remove(item.id(), existing.item.name());
+                names.add(item.id(), item.name());
+            }
+            items.put(item.id(), new Entry(item, version));
+            mutations++;
+            return version;
+        }
+
+        // Must hold lock
+        boolean deleteLocked(Long id) {
+            Entry removed = items.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            names.remove(id, removed.item.name());
+            size--;
+            mutations++;
+            return true;
+        }
+
+        // Must hold lock. Versions are drawn per shard, with the shard index in the low bits
+        // so they stay unique across shards without a counter that every writer contends on.
+        private long nextVersion() {
+            return (++versionCounter << shardBits) | index;
+        }
+
+        // Must hold lock
+        private void insertLocked(Item item) {
+            items.put(item.id(), new Entry(item, nextVersion()));
+            names.add(item.id(), item.name());
+            size++;
+            mutations++;
+        }
+
+        List<Item> snapshot() {
+            List<Item> result = new ArrayList<>(size);
+            for (Entry entry : items.values()) {
+                result.add(entry.item);
+            }
+            return result;
+        }
+
+        Iterator<Item> iteratorAfter(Long afterId) {
+            Iterator<Entry> entries = afterId == null
+                    ? items.values().iterator()
+                    : items.tailMap(afterId, false).values().iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Item next() {
+                    return entries.next().item;
+                }
+            };
+        }
+
+        List<Item> findByName(String name, int limit) {
+            return names.idsWithName(name)
+                    .map(this::currentItem)
+                    .filter(item -> item != null && name.equals(item.name()))
+                    .limit(limit)
+                    .toList();
+        }
+
+        List<Item> findByNamePrefix(String prefix, int limit) {
+            return names.idsWithPrefix(prefix)
+                    .map(this::currentItem)
+                    .filter(item -> item != null && item.name() != null && item.name().startsWith(prefix))
+                    .limit(limit)
+                    .toList();
+        }
+
+        private Item currentItem(Long id) {
+            Entry entry = items.get(id);
+            return entry == null ? null : entry.item;
+        }
+    }
+
+    // Lazily merges iterators that are each sorted by the comparator
+    private static final class MergingIterator implements Iterator<Item> {
+        private final PriorityQueue<Head> heads;
+
+        MergingIterator(List<Iterator<Item>> iterators, Comparator<Item> order) {
+            this.heads = new PriorityQueue<>(Math.max(1, iterators.size()),
+                    (a, b) -> order.compare(a.item, b.item));
+            for (Iterator<Item> iterator : iterators) {
+                if (iterator.hasNext()) {
+                    heads.add(new Head(iterator.next(), iterator));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Item next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            Item item = head.item;
+            if (head.rest.hasNext()) {
+                head.item = head.rest.next();
+                heads.add(head);
+            }
+            return item;
+        }
+
+        private static final class Head {
+            Item item;
+            final Iterator<Item> rest;
+
+            Head(Item item, Iterator<Item> rest) {
+                this.item = item;
+                this.rest = rest;
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.liatrio.exercise.dataService.repository.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Leases blocks of consecutive IDs from a shared counter to a set of stripes, picked by
+// thread, so concurrent creators mostly draw from different blocks and the shared counter
+// is touched once per block. IDs ascend within a block but not across stripes.
+//
+// Stripes rather than thread-locals hold the blocks: requests may each run on a fresh
+// virtual thread, which would waste a block per request.
+public class BlockIdGenerator implements ItemIdGenerator {
+    // Reservations are made this many blocks ahead, so they are rare
+    private static final int RESERVE_AHEAD_BLOCKS = 1024;
+
+    private final int blockSize;
+    private final AtomicLong leased; // Highest ID leased to a stripe
+    private final AtomicReferenceArray<Block> stripes;
+    private final int mask;
+    private final IdReservations reservations;
+    private final ReentrantLock reserveLock = new ReentrantLock();
+    private volatile long reserved; // Only advanced under reserveLock, once durable
+
+    public BlockIdGenerator(long lastAssignedId, int blockSize, IdReservations reservations) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive, was " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.reservations = reservations;
+        this.reserved = Math.max(lastAssignedId, reservations.recovered());
+        this.leased = new AtomicLong(reserved);
+
+        int size = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+        this.stripes = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public long nextId() {
+        int stripe = (int) Thread.currentThread().threadId() & mask;
+        Block block = stripes.get(stripe);
+        if (block != null) {
+            long id = block.next.getAndIncrement();
+            if (id <= block.last) {
+                return id;
+            }
+        }
+
+        // Take the first ID of a fresh block, and install the block unless another thread
+        // already replaced the exhausted one, in which case the rest of ours goes unused
+        Block fresh = lease();
+        long id = fresh.next.getAndIncrement();
+        stripes.compareAndSet(stripe, block, fresh);
+        return id;
+    }
+
+    // Blocks leased earlier may still hand out lower IDs, which repositories skip if in use
+    @Override
+    public void advancePast(long id) {
+        leased.accumulateAndGet(id, Math::max);
+    }
+
+    @Override
+    public void resetTo(long lastAssignedId) {
+        advancePast(lastAssignedId);
+    }
+
+    @Override
+    public long lastAssignedId() {
+        return leased.get();
+    }
+
+    private Block lease() {
+        long last = leased.addAndGet(blockSize);
+        if (last > reserved) {
+            reserveLock.lock();
+            try {
+                if (last > reserved) {
+                    long ceiling = last + (long) blockSize * RESERVE_AHEAD_BLOCKS;
+                    reservations.reserve(ceiling);
+                    reserved = ceiling;
+                }
+            } finally {
+                reserveLock.unlock();
+            }
+        }
+        return new Block(last - blockSize + 1, last);
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long last;
+
+        Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.liatrio.exercise.dataService.repository.id;
+
+// Durable high-water mark for generators that hand out values without logging each one.
+// A generator reserves ahead of what it hands out, so after a restart it resumes past
+// everything the previous run may have used, even values lost in a crash.
+public interface IdReservations {
+    IdReservations NONE = new IdReservations() {
+        @Override
+        public long recovered() {
+            return 0;
+        }
+
+        @Override
+        public void reserve(long ceiling) {
+        }
+    };
+
+    // The highest value reserved by an earlier run, or 0
+    long recovered();
+
+    // Returns once values up to and including the ceiling are durably reserved
+    void reserve(long ceiling);
+}
@@ -0,0 +1,37 @@
+package com.liatrio.exercise.dataService.repository.id;
+
+import com.liatrio.exercise.dataService.repository.persistence.IdReservationFile;
+import com.liatrio.exercise.dataService.repository.persistence.PersistenceProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+@EnableConfigurationProperties(ItemIdProperties.class)
+public class ItemIdConfiguration {
+
+    // Start after the 3 initial items every engine is seeded with
+    static final long SEEDED_ITEMS = 3;
+
+    // With persistence, the block and snowflake generators reserve IDs in the data directory
+    // before handing them out, so a restart never reissues one
+    @Bean
+    public ItemIdGenerator itemIdGenerator(ItemIdProperties properties,
+                                           ObjectProvider<PersistenceProperties> persistence) throws IOException {
+        IdReservations reservations = IdReservations.NONE;
+        PersistenceProperties persistenceProperties = persistence.getIfAvailable();
+        if (persistenceProperties != null && properties.generator() != ItemIdProperties.Generator.SEQUENTIAL) {
+            reservations = IdReservationFile.open(Paths.get(persistenceProperties.directory()));
+        }
+
+        return switch (properties.generator()) {
+            case SEQUENTIAL -> new SequentialIdGenerator(SEEDED_ITEMS);
+            case BLOCK -> new BlockIdGenerator(SEEDED_ITEMS, properties.blockSize(), reservations);
+            case SNOWFLAKE -> new SnowflakeIdGenerator(properties.node(), reservations);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.liatrio.exercise.dataService.repository.id;
+
+// Hands out IDs for items created without one. Generators are thread-safe; repositories
+// still skip any generated ID that is already in use.
+public interface ItemIdGenerator {
+    long nextId();
+
+    // Never hand out this ID or a lower one from now on, e.g. after it was assigned explicitly
+    void advancePast(long id);
+
+    // Restarts after the given ID, as when restoring persisted items. Generators that
+    // reserve IDs durably never go back below what an earlier run may have handed out.
+    void resetTo(long lastAssignedId);
+
+    // The highest ID that may have been handed out so far
+    long lastAssignedId();
+}
@@ -0,0 +1,15 @@
+package com.liatrio.exercise.dataService.repository.id;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "dataservice.ids")
+public record ItemIdProperties(
+        @DefaultValue("sequential") Generator generator,
+        @DefaultValue("1024") int blockSize,
+        @DefaultValue("0") long node) {
+
+    public enum Generator {
+        SEQUENTIAL, BLOCK, SNOWFLAKE
+    }
+}
@@ -0,0 +1,34 @@
+package com.liatrio.exercise.dataService.repository.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Dense, ascending IDs from one counter. Nothing is reserved: with persistence the last
+// assigned ID is recovered from the snapshot and the write-ahead log, so an ID is only
+// reissued after a crash if the item it was given to was lost along with its log record.
+public class SequentialIdGenerator implements ItemIdGenerator {
+    private final AtomicLong sequence;
+
+    public SequentialIdGenerator(long lastAssignedId) {
+        this.sequence = new AtomicLong(lastAssignedId);
+    }
+
+    @Override
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    @Override
+    public void advancePast(long id) {
+        sequence.accumulateAndGet(id, Math::max);
+    }
+
+    @Override
+    public void resetTo(long lastAssignedId) {
+        sequence.set(lastAssignedId);
+    }
+
+    @Override
+    public long lastAssignedId() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,100 @@
+package com.liatrio.exercise.dataService.repository.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Time-ordered IDs that instances can generate side by side without coordination: 41 bits
+// of milliseconds since 2025-01-01, 10 bits of node number and a 12 bit sequence within the
+// millisecond. Each node must have its own number.
+//
+// The timestamp and sequence are advanced together with one compare-and-set. When the
+// sequence of a millisecond runs out, or the clock steps back, the generator runs ahead of
+// the clock instead of waiting for it, so IDs from one node always ascend.
+public class SnowflakeIdGenerator implements ItemIdGenerator {
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Reserved timestamps run this far ahead of the clock, so they are written rarely and a
+    // restart resumes at most this far in the future
+    private static final long RESERVE_AHEAD_MILLIS = 10_000;
+
+    private final long node;
+    private final LongSupplier clock;
+    private final IdReservations reservations;
+    private final AtomicLong state; // Timestamp << SEQUENCE_BITS | sequence of the last ID
+    private final ReentrantLock reserveLock = new ReentrantLock();
+    private volatile long reservedTimestamp; // Only advanced under reserveLock, once durable
+
+    public SnowflakeIdGenerator(long node, IdReservations reservations) {
+        this(node, System::currentTimeMillis, reservations);
+    }
+
+    SnowflakeIdGenerator(long node, LongSupplier clock, IdReservations reservations) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node must be between 0 and " + MAX_NODE + ", was " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+        this.reservations = reservations;
+
+        // Start past every timestamp an earlier run may have used, whatever the clock says now
+        this.reservedTimestamp = reservations.recovered();
+        this.state = new AtomicLong(reservedTimestamp << SEQUENCE_BITS | SEQUENCE_MASK);
+    }
+
+    @Override
+    public long nextId() {
+        long next;
+        while (true) {
+            long previous = state.get();
+            long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            next = now > previous ? now : previous + 1;
+            if (state.compareAndSet(previous, next)) {
+                break;
+            }
+        }
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        if (timestamp > reservedTimestamp) {
+            reserve(timestamp);
+        }
+        return compose(next);
+    }
+
+    @Override
+    public void advancePast(long id) {
+        state.accumulateAndGet((id >>> (NODE_BITS + SEQUENCE_BITS)) << SEQUENCE_BITS | (id & SEQUENCE_MASK), Math::max);
+    }
+
+    @Override
+    public void resetTo(long lastAssignedId) {
+        advancePast(lastAssignedId);
+    }
+
+    @Override
+    public long lastAssignedId() {
+        return compose(state.get());
+    }
+
+    private long compose(long state) {
+        return (state >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | (state & SEQUENCE_MASK);
+    }
+
+    private void reserve(long timestamp) {
+        reserveLock.lock();
+        try {
+            if (timestamp > reservedTimestamp) {
+                long ceiling = timestamp + RESERVE_AHEAD_MILLIS;
+                reservations.reserve(ceiling);
+                reservedTimestamp = ceiling;
+            }
+        } finally {
+            reserveLock.unlock();
+        }
+    }
+}
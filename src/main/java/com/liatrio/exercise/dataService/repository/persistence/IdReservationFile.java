@@ -0,0 +1,78 @@
+package com.liatrio.exercise.dataService.repository.persistence;
+
+import com.liatrio.exercise.dataService.repository.id.IdReservations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// Keeps the ID reservation ceiling in the data directory. Each reservation replaces the
+// file atomically once the new ceiling is synced, so a crash leaves the old or the new one.
+//
+// Layout: int magic, long ceiling, int CRC32C of the ceiling.
+public final class IdReservationFile implements IdReservations {
+    private static final int MAGIC = 0x49444C4D; // "IDLM"
+    private static final int BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final String FILE_NAME = "id-reservation.dat";
+
+    private final Path file;
+    private final long recovered;
+
+    private IdReservationFile(Path file, long recovered) {
+        this.file = file;
+        this.recovered = recovered;
+    }
+
+    public static IdReservationFile open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return new IdReservationFile(file, 0);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() != BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Unrecognized ID reservation file " + file);
+        }
+        long ceiling = buffer.getLong();
+        if (buffer.getInt() != checksum(ceiling)) {
+            throw new IOException("Checksum mismatch in ID reservation file " + file);
+        }
+        return new IdReservationFile(file, ceiling);
+    }
+
+    @Override
+    public long recovered() {
+        return recovered;
+    }
+
+    @Override
+    public void reserve(long ceiling) {
+        Path temporary = file.resolveSibling(FILE_NAME + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES).putInt(MAGIC).putLong(ceiling).putInt(checksum(ceiling)).flip();
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to reserve IDs up to " + ceiling, e);
+        }
+    }
+
+    private static int checksum(long ceiling) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(ceiling).flip());
+        return (int) crc.getValue();
+    }
+}
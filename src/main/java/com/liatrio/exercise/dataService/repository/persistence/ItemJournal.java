@@ -0,0 +1,176 @@
+package com.liatrio.exercise.dataService.repository.persistence;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ItemChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Makes an InMemoryCoreProcessItemsRepository durable. Every mutation is appended to the
+// write-ahead log before it is applied, and periodic snapshots compact the log so that
+// recovery loads the latest snapshot and replays only the segments written after it.
+public class ItemJournal implements ItemChangeListener, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ItemJournal.class);
+
+    private final InMemoryCoreProcessItemsRepository repository;
+    private final Path directory;
+    private final WriteAheadLog writeAheadLog;
+    private final ScheduledExecutorService snapshotScheduler;
+    private final boolean startedFresh;
+
+    private ItemJournal(InMemoryCoreProcessItemsRepository repository, Path directory, WriteAheadLog writeAheadLog,
+                        boolean startedFresh) {
+        this.repository = repository;
+        this.directory = directory;
+        this.writeAheadLog = writeAheadLog;
+        this.startedFresh = startedFresh;
+        this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("item-journal-snapshots").daemon().factory());
+    }
+
+    // Recovers the repository from the directory, then journals every further mutation
+    public static ItemJournal open(InMemoryCoreProcessItemsRepository repository, PersistenceProperties properties) throws IOException {
+        Path directory = Paths.get(properties.directory());
+        Files.createDirectories(directory);
+
+        boolean startedFresh = SnapshotFile.snapshots(directory).isEmpty() && WriteAheadLog.segments(directory).isEmpty();
+        long nextSegment = recover(repository, directory);
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory, nextSegment,
+                properties.groupCommitSize(), properties.groupCommitInterval(), properties.sync());
+
+        ItemJournal journal = new ItemJournal(repository, directory, writeAheadLog, startedFresh);
+        repository.setChangeListener(journal);
+
+        // Compact whatever was replayed right away so the next start is fast too
+        journal.snapshot();
+        long intervalMillis = properties.snapshotInterval().toMillis();
+        journal.snapshotScheduler.scheduleWithFixedDelay(journal::snapshotQuietly,
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return journal;
+    }
+
+    // Whether the directory held nothing to recover when the journal was opened
+    public boolean startedFresh() {
+        return startedFresh;
+    }
+
+    @Override
+    public void onSave(Item item) {
+        writeAheadLog.appendSave(item);
+    }
+
+    @Override
+    public void onDelete(Long id) {
+        writeAheadLog.appendDelete(id);
+    }
+
+    @Override
+    public void awaitDurable() {
+        writeAheadLog.awaitDurable();
+    }
+
+    // Writers keep going while the snapshot is taken. Every mutation logged before the
+    // rotation is applied once lastAssignedId() returns, so the snapshot contains at least
+    // everything in the sealed segments; later mutations it may also contain are replayed
+    // again on recovery, which is harmless because replay applies them in log order.
+    public synchronized void snapshot() throws IOException {
+        long segment = writeAheadLog.rotate();
+        long lastAssignedId = repository.lastAssignedId();
+
+        long start = System.nanoTime();
+        try (Stream<Item> items = repository.streamAll()) {
+            SnapshotFile.write(SnapshotFile.file(directory, segment), lastAssignedId, items.iterator());
+        }
+        log.debug("Wrote snapshot {} in {} ms", segment, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        // Everything older is now covered by the new snapshot
+        for (long older : SnapshotFile.snapshots(directory)) {
+            if (older < segment) {
+                Files.deleteIfExists(SnapshotFile.file(directory, older));
+            }
+        }
+        for (long older : WriteAheadLog.segments(directory)) {
+            if (older < segment) {
+                Files.deleteIfExists(WriteAheadLog.segmentFile(directory, older));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshotScheduler.shutdown();
+        try {
+            snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeAheadLog.close();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write a snapshot; the write-ahead log keeps growing until one succeeds", e);
+        }
+    }
+
+    // Returns the segment number the write-ahead log should continue with. New segments are
+    // always started after recovery so a torn tail is never appended to.
+    private static long recover(InMemoryCoreProcessItemsRepository repository, Path directory) throws IOException {
+        List<Long> snapshots = SnapshotFile.snapshots(directory);
+        List<Long> segments = WriteAheadLog.segments(directory);
+        if (snapshots.isEmpty() && segments.isEmpty()) {
+            log.info("No persisted items found in {}, starting fresh", directory);
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        long firstSegment = 0;
+        if (snapshots.isEmpty()) {
+            repository.restore(List.of(), 0);
+        } else {
+            firstSegment = snapshots.get(snapshots.size() - 1);
+            SnapshotFile.Contents snapshot = SnapshotFile.read(SnapshotFile.file(directory, firstSegment));
+            repository.restore(snapshot.items(), snapshot.lastAssignedId());
+        }
+
+        // Replay runs before the journal is attached, so nothing is logged twice
+        ItemChangeListener replayTarget = new ItemChangeListener() {
+            @Override
+            public void onSave(Item item) {
+                repository.save(item);
+            }
+
+            @Override
+            public void onDelete(Long id) {
+                repository.deleteAllById(List.of(id));
+            }
+        };
+
+        long nextSegment = firstSegment;
+        for (long segment : segments) {
+            if (segment < firstSegment) {
+                continue;
+            }
+            nextSegment = segment + 1;
+            if (!WriteAheadLog.replay(WriteAheadLog.segmentFile(directory, segment), replayTarget)) {
+                break;
+            }
+        }
+
+        log.info("Recovered items from {} in {} ms", directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return Math.max(nextSegment, segments.isEmpty() ? 0 : segments.get(segments.size() - 1) + 1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.liatrio.exercise.dataService.repository.persistence;
+
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+@ConditionalOnProperty(prefix = "dataservice.persistence", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ItemJournal itemJournal(InMemoryCoreProcessItemsRepository repository, PersistenceProperties properties) throws IOException {
+        return ItemJournal.open(repository, properties);
+    }
+}
@@ -0,0 +1,16 @@
+package com.liatrio.exercise.dataService.repository.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dataservice.persistence")
+public record PersistenceProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data") String directory,
+        @DefaultValue("256") int groupCommitSize,
+        @DefaultValue("5ms") Duration groupCommitInterval,
+        @DefaultValue("true") boolean sync,
+        @DefaultValue("5m") Duration snapshotInterval) {
+}
@@ -0,0 +1,149 @@
+package com.liatrio.exercise.dataService.repository.persistence;
+
+import com.liatrio.exercise.dataService.model.Item;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+// Compacted image of the repository. snapshot-N holds every mutation logged in segments
+// before N, so recovery loads it and replays only segments N and later.
+//
+// Layout: int magic, int version, long last assigned id, then per item a 1 byte marker,
+// long id, int name length (-1 for null) and the UTF-8 name, a 0 byte terminator and
+// finally the CRC32C of everything before it.
+final class SnapshotFile {
+    private static final int MAGIC = 0x49544D53; // "ITMS"
+    private static final int VERSION = 1;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int VERIFY_BUFFER_BYTES = 1 << 20;
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})\\.dat");
+
+    record Contents(long lastAssignedId, List<Item> items) {
+    }
+
+    private SnapshotFile() {
+    }
+
+    static Path file(Path directory, long segment) {
+        return directory.resolve(String.format("snapshot-%020d.dat", segment));
+    }
+
+    // Segment numbers of the snapshots present in the directory, in ascending order
+    static List<Long> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SNAPSHOT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Written to a temporary file first and moved into place once synced, so a crash
+    // never leaves a partial snapshot behind
+    static void write(Path target, long lastAssignedId, Iterator<Item> items) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), BUFFER_BYTES));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastAssignedId);
+            while (items.hasNext()) {
+                Item item = items.next();
+                out.writeByte(1);
+                out.writeLong(item.id());
+                if (item.name() == null) {
+                    out.writeInt(-1);
+                } else {
+                    byte[] name = item.name().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(name.length);
+                    out.write(name);
+                }
+            }
+            out.writeByte(0);
+
+            // Only bytes flushed through to the checked stream count towards the checksum
+            out.flush();
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static Contents read(Path source) throws IOException {
+        verifyChecksum(source);
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(source), BUFFER_BYTES))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unrecognized snapshot format in " + source);
+            }
+
+            long lastAssignedId = in.readLong();
+            List<Item> items = new ArrayList<>();
+            while (in.readByte() != 0) {
+                long id = in.readLong();
+                int nameBytes = in.readInt();
+                String name = nameBytes < 0 ? null : new String(in.readNBytes(nameBytes), StandardCharsets.UTF_8);
+                items.add(new Item(id, name));
+            }
+            return new Contents(lastAssignedId, items);
+        }
+    }
+
+    // Checked in a separate pass over large direct buffers, which is far cheaper than
+    // feeding the checksum the small reads of the parser
+    private static void verifyChecksum(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long checksummedBytes = channel.size() - Integer.BYTES;
+            if (checksummedBytes < 0) {
+                throw new IOException("Truncated snapshot " + source);
+            }
+
+            CRC32C crc = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(VERIFY_BUFFER_BYTES);
+            long remaining = checksummedBytes;
+            while (remaining > 0) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    throw new IOException("Truncated snapshot " + source);
+                }
+                buffer.flip();
+                crc.update(buffer);
+                remaining -= read;
+            }
+
+            buffer.clear().limit(Integer.BYTES);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the trailer is complete
+            }
+            if (buffer.hasRemaining() || buffer.flip().getInt() != (int) crc.getValue()) {
+                throw new IOException("Checksum mismatch in snapshot " + source);
+            }
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.liatrio.exercise.dataService.repository.persistence;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.ItemChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only log of item mutations, split into numbered segment files. Appending only
+// copies the record into a buffer; a flusher thread writes and fsyncs everything buffered
+// as one group commit once groupCommitSize records are pending or groupCommitInterval has
+// passed since the first of them. With sync, writers wait in awaitDurable() until the group
+// holding their records has been fsynced, so nothing acknowledged is lost in a crash.
+// Without it, awaitDurable() returns at once and a crash can lose one commit group.
+//
+// Record layout: int payload length, int CRC32C of the payload, then the payload itself:
+// byte type, long id and, for saves, int name length (-1 for null) and the UTF-8 name.
+final class WriteAheadLog implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final byte SAVE = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_PAYLOAD_BYTES = 64 * 1024 * 1024;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final int groupCommitSize;
+    private final long groupCommitIntervalNanos;
+    private final boolean sync;
+
+    // Appenders only take the buffer lock. Writing to disk happens under the io lock,
+    // which is always taken first, so a segment switch cannot reorder buffered records.
+    private final ReentrantLock ioLock = new ReentrantLock();
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private final Condition recordsPending = bufferLock.newCondition();
+    private final Condition groupSynced = bufferLock.newCondition();
+    private final CRC32C checksum = new CRC32C(); // Guarded by bufferLock
+    private ByteBuffer active = ByteBuffer.allocate(INITIAL_BUFFER_BYTES); // Guarded by bufferLock
+    private int pendingRecords; // Guarded by bufferLock
+    private long appendedRecords; // Guarded by bufferLock
+    private long syncedRecords; // Guarded by bufferLock
+    private boolean closed; // Guarded by bufferLock
+    private IOException failure; // Guarded by bufferLock
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES); // Guarded by ioLock
+    private long segment; // Guarded by ioLock
+    private FileChannel channel; // Guarded by ioLock
+    private final Thread flusher;
+
+    WriteAheadLog(Path directory, long segment, int groupCommitSize, Duration groupCommitInterval, boolean sync)
+            throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        this.groupCommitSize = groupCommitSize;
+        this.groupCommitIntervalNanos = groupCommitInterval.toNanos();
+        this.sync = sync;
+        this.channel = openSegment(segment);
+        this.flusher = Thread.ofPlatform()
+                .name("item-journal-flusher")
+                .daemon()
+                .start(this::flushContinuously);
+    }
+
+    void appendSave(Item item) {
+        byte[] name = item.name() == null ? null : item.name().getBytes(StandardCharsets.UTF_8);
+        append(SAVE, item.id(), name);
+    }
+
+    void appendDelete(Long id) {
+        append(DELETE, id, null);
+    }
+
+    // Waits until every record appended so far has been fsynced. Called after the caller's
+    // appends, outside the repository's write lock, so concurrent writers share the fsync.
+    void awaitDurable() {
+        if (!sync) {
+            return;
+        }
+        bufferLock.lock();
+        try {
+            long target = appendedRecords;
+            while (syncedRecords < target) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+                }
+                groupSynced.awaitUninterruptibly();
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    // Seals the current segment, fsyncing everything appended so far, and starts the next one
+    long rotate() throws IOException {
+        ioLock.lock();
+        try {
+            flushLocked();
+            channel.close();
+            segment++;
+            channel = openSegment(segment);
+            return segment;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        bufferLock.lock();
+        try {
+            closed = true;
+            recordsPending.signal();
+        } finally {
+            bufferLock.unlock();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        ioLock.lock();
+        try {
+            flushLocked();
+            channel.close();
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    // Segment numbers present in the directory, in ascending order
+    static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static Path segmentFile(Path directory, long segment) {
+        return directory.resolve(String.format("wal-%020d.log", segment));
+    }
+
+    // Feeds every intact record of the segment to the listener. Reading stops at the first
+    // truncated or corrupt record, which is the torn tail of a write interrupted by a crash.
+    static boolean replay(Path segmentFile, ItemChangeListener listener) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmentFile), 1 << 16))) {
+            while (true) {
+                int payloadBytes;
+                try {
+                    payloadBytes = in.readInt();
+                } catch (EOFException e) {
+                    return true;
+                }
+
+                if (payloadBytes < 1 + Long.BYTES || payloadBytes > MAX_PAYLOAD_BYTES) {
+                    log.warn("Ignoring corrupt record at the end of {}", segmentFile);
+                    return false;
+                }
+
+                byte[] payload;
+                int expectedChecksum;
+                try {
+                    expectedChecksum = in.readInt();
+                    payload = in.readNBytes(payloadBytes);
+                } catch (EOFException e) {
+                    log.warn("Ignoring truncated record at the end of {}", segmentFile);
+                    return false;
+                }
+
+                crc.reset();
+                crc.update(payload);
+                if (payload.length != payloadBytes || (int) crc.getValue() != expectedChecksum) {
+                    log.warn("Ignoring torn or corrupt record at the end of {}", segmentFile);
+                    return false;
+                }
+
+                ByteBuffer record = ByteBuffer.wrap(payload);
+                byte type = record.get();
+                long id = record.getLong();
+                if (type == DELETE) {
+                    listener.onDelete(id);
+                } else {
+                    int nameBytes = record.getInt();
+                    String name = nameBytes < 0
+                            ? null
+                            : new String(payload, record.position(), nameBytes, StandardCharsets.UTF_8);
+                    listener.onSave(new Item(id, name));
+                }
+            }
+        }
+    }
+
+    private void append(byte type, long id, byte[] name) {
+        int payloadBytes = 1 + Long.BYTES + (type == SAVE ? Integer.BYTES + (name == null ? 0 : name.length) : 0);
+
+        bufferLock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+            }
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+
+            ensureCapacity(HEADER_BYTES + payloadBytes);
+            active.putInt(payloadBytes);
+            int checksumPosition = active.position();
+            active.putInt(0);
+            int payloadPosition = active.position();
+            active.put(type).putLong(id);
+            if (type == SAVE) {
+                active.putInt(name == null ? -1 : name.length);
+                if (name != null) {
+                    active.put(name);
+                }
+            }
+            checksum.reset();
+            checksum.update(active.array(), payloadPosition, payloadBytes);
+            active.putInt(checksumPosition, (int) checksum.getValue());
+
+            // Wake the flusher to start a group with the first record, or to cut it short once full
+            pendingRecords++;
+            appendedRecords++;
+            if (pendingRecords == 1 || pendingRecords == groupCommitSize) {
+                recordsPending.signal();
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    // Must hold bufferLock
+    private void ensureCapacity(int bytes) {
+        if (active.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(active.capacity() * 2, active.position() + bytes));
+        active.flip();
+        grown.put(active);
+        active = grown;
+    }
+
+    private void flushContinuously() {
+        while (awaitGroup()) {
+            ioLock.lock();
+            try {
+                flushLocked();
+            } catch (IOException e) {
+                log.error("Failed to sync the write-ahead log; further writes will be rejected", e);
+                return;
+            } finally {
+                ioLock.unlock();
+            }
+        }
+    }
+
+    // Waits for the first record of a group, then for the group to fill up or time out.
+    // Returns false once the log is closed; close() flushes whatever is left.
+    private boolean awaitGroup() {
+        bufferLock.lock();
+        try {
+            while (!closed && pendingRecords == 0) {
+                recordsPending.await();
+            }
+            long remaining = groupCommitIntervalNanos;
+            while (!closed && pendingRecords < groupCommitSize && remaining > 0) {
+                remaining = recordsPending.awaitNanos(remaining);
+            }
+            return !closed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    // Must hold ioLock. Swaps the buffers so appenders can carry on while the group is written.
+    // A failure is kept so that appenders and writers waiting for the group are rejected.
+    private void flushLocked() throws IOException {
+        ByteBuffer group;
+        long groupEnd;
+        bufferLock.lock();
+        try {
+            if (active.position() == 0) {
+                return;
+            }
+            group = active;
+            active = spare;
+            pendingRecords = 0;
+            groupEnd = appendedRecords;
+        } finally {
+            bufferLock.unlock();
+        }
+
+        group.flip();
+        try {
+            while (group.hasRemaining()) {
+                channel.write(group);
+            }
+            channel.force(false);
+            groupSynced(groupEnd);
+        } catch (IOException e) {
+            groupFailed(e);
+            throw e;
+        } finally {
+            group.clear();
+            spare = group;
+        }
+    }
+
+    private void groupSynced(long records) {
+        bufferLock.lock();
+        try {
+            syncedRecords = records;
+            groupSynced.signalAll();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    private void groupFailed(IOException e) {
+        bufferLock.lock();
+        try {
+            failure = e;
+            groupSynced.signalAll();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    private FileChannel openSegment(long segment) throws IOException {
+        return FileChannel.open(segmentFile(directory, segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,182 @@
+package com.liatrio.exercise.dataService.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.liatrio.exercise.dataService.model.Item;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Reads a seed file with one item per line, either CSV (id,name) or NDJSON ({"id":..,"name":..}),
+// chosen by the file extension. The file is cut into ranges at line breaks, and every range is
+// memory-mapped and parsed on its own thread; the items come back in file order.
+//
+// A CSV file may start with a header line. Names containing commas or quotes are quoted, with
+// quotes doubled inside; line breaks inside names are not supported.
+public final class SeedFileReader {
+
+    public enum Format { CSV, NDJSON }
+
+    // A mapped buffer is limited to 2 GB, so bigger files are cut into more ranges
+    private static final long MAX_RANGE_BYTES = 1L << 30;
+
+    private SeedFileReader() {
+    }
+
+    public static Format formatOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? Format.NDJSON : Format.CSV;
+    }
+
+    public static List<Item> read(Path file, int parallelism, ObjectMapper objectMapper) throws IOException {
+        Format format = formatOf(file);
+        ObjectReader itemReader = objectMapper.readerFor(Item.class);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int ranges = (int) Math.max(parallelism, (size + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+            long[] bounds = lineBounds(channel, size, ranges);
+
+            List<Future<List<Item>>> parts = new ArrayList<>(ranges);
+            try (ExecutorService parsers = Executors.newFixedThreadPool(parallelism,
+                    Thread.ofPlatform().name("seed-parser-", 0).daemon().factory())) {
+                for (int range = 0; range < ranges; range++) {
+                    long start = bounds[range];
+                    long length = bounds[range + 1] - start;
+                    if (length > 0) {
+                        parts.add(parsers.submit(() -> parse(channel.map(FileChannel.MapMode.READ_ONLY, start, length),
+                                start, format, itemReader, file)));
+                    }
+                }
+            }
+
+            List<Item> items = new ArrayList<>();
+            for (Future<List<Item>> part : parts) {
+                items.addAll(join(part));
+            }
+            return items;
+        }
+    }
+
+    // Starts of the ranges, each moved forward to just past a line break, followed by the file size
+    private static long[] lineBounds(FileChannel channel, long size, int ranges) throws IOException {
+        long[] bounds = new long[ranges + 1];
+        bounds[ranges] = size;
+        ByteBuffer window = ByteBuffer.allocate(64 * 1024);
+        for (int range = 1; range < ranges; range++) {
+            long position = Math.max(size / ranges * range, bounds[range - 1]);
+            long bound = size;
+            scan:
+            while (position < size) {
+                window.clear();
+                int read = channel.read(window, position);
+                for (int i = 0; i < read; i++) {
+                    if (window.get(i) == '\n') {
+                        bound = position + i + 1;
+                        break scan;
+                    }
+                }
+                position += read;
+            }
+            bounds[range] = bound;
+        }
+        return bounds;
+    }
+
+    private static List<Item> parse(MappedByteBuffer buffer, long offset, Format format, ObjectReader itemReader,
+                                    Path file) throws IOException {
+        List<Item> items = new ArrayList<>();
+        byte[] line = new byte[256];
+        int limit = buffer.limit();
+        int start = 0;
+        while (start < limit) {
+            int end = start;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            int length = end - start;
+            if (length > 0 && buffer.get(end - 1) == '\r') {
+                length--;
+            }
+
+            if (length > 0) {
+                if (line.length < length) {
+                    line = new byte[Math.max(length, line.length * 2)];
+                }
+                buffer.get(start, line, 0, length);
+                try {
+                    Item item = format == Format.CSV ? parseCsv(line, length) : itemReader.readValue(line, 0, length);
+                    if (item.id() == null) {
+                        throw new IllegalArgumentException("missing id");
+                    }
+                    items.add(item);
+                } catch (IOException | IllegalArgumentException e) {
+                    // Only the very first line of a CSV file may be a header
+                    boolean header = format == Format.CSV && offset == 0 && start == 0 && !Character.isDigit(line[0]);
+                    if (!header) {
+                        throw new IOException("Malformed item at byte " + (offset + start) + " of " + file
+                                + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+            start = end + 1;
+        }
+        return items;
+    }
+
+    private static Item parseCsv(byte[] line, int length) {
+        int comma = 0;
+        while (comma < length && line[comma] != ',') {
+            comma++;
+        }
+        if (comma == 0 || comma == length) {
+            throw new IllegalArgumentException("expected id,name");
+        }
+
+        long id = 0;
+        for (int i = 0; i < comma; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9 || id > (Long.MAX_VALUE - digit) / 10) {
+                throw new IllegalArgumentException("invalid id");
+            }
+            id = id * 10 + digit;
+        }
+
+        int nameStart = comma + 1;
+        String name;
+        if (nameStart < length && line[nameStart] == '"') {
+            if (length - nameStart < 2 || line[length - 1] != '"') {
+                throw new IllegalArgumentException("unterminated quoted name");
+            }
+            name = new String(line, nameStart + 1, length - nameStart - 2, StandardCharsets.UTF_8).replace("\"\"", "\"");
+        } else {
+            name = new String(line, nameStart, length - nameStart, StandardCharsets.UTF_8);
+        }
+        return new Item(id, name);
+    }
+
+    private static List<Item> join(Future<List<Item>> part) throws IOException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the seed file", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
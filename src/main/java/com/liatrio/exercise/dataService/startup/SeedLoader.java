@@ -0,0 +1,88 @@
+package com.liatrio.exercise.dataService.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.persistence.ItemJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+// Loads the seed file once every bean exists and before the web server starts, so no request
+// sees a partly loaded store. The in-memory engine takes the items in one pass, the way it
+// restores a snapshot, without the per-item work of save; the other engines get them in
+// chunks through saveAll. A store recovered from its journal keeps its data, and a freshly
+// seeded one is snapshotted so the seed survives a restart.
+public class SeedLoader implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(SeedLoader.class);
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private final CoreProcessItemsRepository store;
+    private final CoreProcessItemsRepository repository;
+    private final ItemJournal journal;
+    private final ObjectMapper objectMapper;
+    private final Path seedFile;
+    private final int parallelism;
+    private volatile Duration loadTime = Duration.ZERO;
+
+    public SeedLoader(CoreProcessItemsRepository store, CoreProcessItemsRepository repository, ItemJournal journal,
+                      ObjectMapper objectMapper, Path seedFile, int parallelism) {
+        this.store = store;
+        this.repository = repository;
+        this.journal = journal;
+        this.objectMapper = objectMapper;
+        this.seedFile = seedFile;
+        this.parallelism = parallelism;
+    }
+
+    // Zero until the seed has been loaded
+    public Duration loadTime() {
+        return loadTime;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (journal != null && !journal.startedFresh()) {
+            log.info("Not loading {}, items were recovered from the journal", seedFile);
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<Item> items;
+        try {
+            items = SeedFileReader.read(seedFile, parallelism, objectMapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the seed file " + seedFile, e);
+        }
+        long parsed = System.nanoTime();
+
+        if (store instanceof InMemoryCoreProcessItemsRepository inMemory) {
+            long lastId = items.stream().mapToLong(Item::id).max().orElse(0);
+            inMemory.restore(items, lastId);
+        } else {
+            for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+                repository.saveAll(items.subList(from, Math.min(from + CHUNK_SIZE, items.size())));
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.snapshot();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to snapshot the seeded items", e);
+            }
+        }
+
+        loadTime = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Loaded {} items from {} in {} ms ({} ms parsing on {} threads, {} items/s)",
+                items.size(), seedFile, loadTime.toMillis(), Duration.ofNanos(parsed - start).toMillis(),
+                parallelism, loadTime.isZero() ? 0 : items.size() * 1_000_000_000L / loadTime.toNanos());
+    }
+}
@@ -0,0 +1,42 @@
+package com.liatrio.exercise.dataService.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.RepositoryConfiguration;
+import com.liatrio.exercise.dataService.repository.persistence.ItemJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@EnableConfigurationProperties(StartupProperties.class)
+public class StartupConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dataservice.startup", name = "seed-file")
+    public SeedLoader seedLoader(@Qualifier(RepositoryConfiguration.ITEM_STORE) CoreProcessItemsRepository store,
+                                 CoreProcessItemsRepository repository, ObjectProvider<ItemJournal> journal,
+                                 ObjectMapper objectMapper, StartupProperties properties) {
+        return new SeedLoader(store, repository, journal.getIfAvailable(), objectMapper,
+                properties.seedFile(), properties.effectiveParallelism());
+    }
+
+    @Bean
+    @ConditionalOnExpression("${dataservice.startup.warm-up-requests:0} > 0")
+    public WarmUpRunner warmUpRunner(CoreProcessItemsRepository repository, Environment environment,
+                                     StartupProperties properties) {
+        return new WarmUpRunner(repository, environment, properties.warmUpRequests(), properties.warmUpConcurrency());
+    }
+
+    @Bean
+    public StartupReporter startupReporter(ObjectProvider<SeedLoader> seedLoader, ObjectProvider<WarmUpRunner> warmUpRunner,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new StartupReporter(seedLoader, warmUpRunner, meterRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.liatrio.exercise.dataService.startup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "dataservice.startup")
+public record StartupProperties(
+        Path seedFile,
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("0") int warmUpRequests,
+        @DefaultValue("8") int warmUpConcurrency) {
+
+    // 0 means one parser thread per available processor
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,44 @@
+package com.liatrio.exercise.dataService.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+// Reports the time from JVM start until the application is ready for traffic, with the
+// share spent on the seed and the warm-up, in the log and as a gauge
+public class StartupReporter implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger log = LoggerFactory.getLogger(StartupReporter.class);
+
+    private final ObjectProvider<SeedLoader> seedLoader;
+    private final ObjectProvider<WarmUpRunner> warmUpRunner;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public StartupReporter(ObjectProvider<SeedLoader> seedLoader, ObjectProvider<WarmUpRunner> warmUpRunner,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.seedLoader = seedLoader;
+        this.warmUpRunner = warmUpRunner;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long timeToReady = ManagementFactory.getRuntimeMXBean().getUptime();
+        SeedLoader seed = seedLoader.getIfAvailable();
+        WarmUpRunner warmUp = warmUpRunner.getIfAvailable();
+        log.info("Ready {} ms after JVM start (seed: {} ms, warm-up: {} ms)", timeToReady,
+                seed == null ? 0 : seed.loadTime().toMillis(),
+                warmUp == null ? 0 : warmUp.warmUpTime().toMillis());
+
+        meterRegistry.ifAvailable(registry ->
+                TimeGauge.builder("dataservice.startup.time_to_ready", () -> timeToReady, TimeUnit.MILLISECONDS)
+                        .description("Time from JVM start until ready for traffic")
+                        .register(registry));
+    }
+}
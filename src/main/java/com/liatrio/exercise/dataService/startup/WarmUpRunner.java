@@ -0,0 +1,106 @@
+package com.liatrio.exercise.dataService.startup;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read requests to the controller's hot paths through the running server, so the JIT
+// has compiled them before traffic arrives. Runners finish before the application reports
+// itself ready, so readiness probes only pass once the warm-up is over. Only reads are sent,
+// which leaves the data as it was.
+public class WarmUpRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final int SAMPLE_SIZE = 1024;
+
+    private final CoreProcessItemsRepository repository;
+    private final Environment environment;
+    private final int requests;
+    private final int concurrency;
+    private volatile Duration warmUpTime = Duration.ZERO;
+
+    public WarmUpRunner(CoreProcessItemsRepository repository, Environment environment, int requests, int concurrency) {
+        this.repository = repository;
+        this.environment = environment;
+        this.requests = requests;
+        this.concurrency = concurrency;
+    }
+
+    // Zero until the warm-up has run
+    public Duration warmUpTime() {
+        return warmUpTime;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            log.info("Skipping the warm-up, there is no local server");
+            return;
+        }
+
+        URI base = URI.create("http://localhost:" + port + "/api/coreProcess/");
+        List<Item> sample = repository.findPage(null, SAMPLE_SIZE);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+
+        try (HttpClient client = HttpClient.newHttpClient();
+             ExecutorService senders = Executors.newFixedThreadPool(concurrency,
+                     Thread.ofPlatform().name("warm-up-", 0).daemon().factory())) {
+            for (int sender = 0; sender < concurrency; sender++) {
+                senders.execute(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        try {
+                            HttpResponse<Void> response = client.send(
+                                    HttpRequest.newBuilder(base.resolve(path(i, sample))).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                failed.incrementAndGet();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+
+        warmUpTime = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Warmed up with {} requests in {} ms ({} failed)", requests, warmUpTime.toMillis(), failed.get());
+    }
+
+    // Mostly single items, as in real traffic, with some pages, searches and misses
+    private static String path(int request, List<Item> sample) {
+        if (sample.isEmpty()) {
+            return "items/" + request;
+        }
+        Item item = sample.get(request % sample.size());
+        return switch (request % 8) {
+            case 5 -> "items?limit=100&afterId=" + item.id();
+            case 6 -> "items?limit=10&namePrefix="
+                    + URLEncoder.encode(item.name().substring(0, Math.min(3, item.name().length())), StandardCharsets.UTF_8);
+            case 7 -> "items/" + (Long.MAX_VALUE - request);
+            default -> "items/" + item.id();
+        };
+    }
+}
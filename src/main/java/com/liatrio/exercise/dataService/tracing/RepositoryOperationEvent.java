@@ -0,0 +1,31 @@
+package com.liatrio.exercise.dataService.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// One repository call. Only calls of at least 1 ms are recorded unless the recording lowers
+// the threshold, e.g. with dataservice.RepositoryOperation#threshold=0 ms. While no recording
+// has the event enabled, the JIT removes it from the call entirely.
+@Name("dataservice.RepositoryOperation")
+@Label("Repository Operation")
+@Description("A call to the item repository")
+@Category({"Data Service", "Repository"})
+@Threshold("1 ms")
+@StackTrace(false)
+class RepositoryOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Items")
+    @Description("Items passed to a batch operation, 1 otherwise")
+    int items;
+
+    // Not part of the event: the trace the call's time is added to, if the request is sampled
+    transient RequestTrace trace;
+    transient long traceStart;
+}
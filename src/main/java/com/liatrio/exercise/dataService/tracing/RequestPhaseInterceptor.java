@@ -0,0 +1,28 @@
+package com.liatrio.exercise.dataService.tracing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Marks where the handler starts and ends. The response body has been written by the time
+// afterCompletion runs, so the handler phase includes serialization.
+public class RequestPhaseInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.handlerStarted();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.handlerEnded();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.liatrio.exercise.dataService.tracing;
+
+// Phase timings of one sampled request, collected on the thread that serves it: reading and
+// binding the request body, repository calls, writing the response body, the rest of the
+// controller, and whatever happens outside the handler (filters and dispatch). Repository
+// calls accumulate, as a request may make several.
+public final class RequestTrace {
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long start;
+    private final RequestTraceEvent event = new RequestTraceEvent();
+    private long handlerStart;
+    private long handlerEnd;
+    private long bindingStart;
+    private long bindingEnd;
+    private long serializationStart;
+    private long repositoryNanos;
+    private int repositoryCalls;
+
+    public record Phases(long totalNanos, long bindingNanos, long repositoryNanos, int repositoryCalls,
+                         long serializationNanos, long controllerNanos, long otherNanos) {
+    }
+
+    private RequestTrace(long start) {
+        this.start = start;
+        event.begin();
+    }
+
+    // The trace of the request served by this thread, or null when it is not sampled
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    static RequestTrace begin(long start) {
+        RequestTrace trace = new RequestTrace(start);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    RequestTraceEvent event() {
+        return event;
+    }
+
+    void handlerStarted() {
+        handlerStart = System.nanoTime();
+    }
+
+    void handlerEnded() {
+        handlerEnd = System.nanoTime();
+    }
+
+    void bindingStarted() {
+        bindingStart = System.nanoTime();
+    }
+
+    void bindingEnded() {
+        bindingEnd = System.nanoTime();
+    }
+
+    void serializationStarted() {
+        serializationStart = System.nanoTime();
+    }
+
+    void repositoryCall(long nanos) {
+        repositoryNanos += nanos;
+        repositoryCalls++;
+    }
+
+    // A phase cut short by an exception ends with the handler
+    Phases phases(long end) {
+        long total = end - start;
+        if (handlerStart == 0) {
+            return new Phases(total, 0, 0, 0, 0, 0, total);
+        }
+
+        long handlerDone = handlerEnd == 0 ? end : handlerEnd;
+        long binding = bindingStart == 0 ? 0 : (bindingEnd == 0 ? handlerDone : bindingEnd) - bindingStart;
+        long serialization = serializationStart == 0 ? 0 : handlerDone - serializationStart;
+        long handler = handlerDone - handlerStart;
+        long controller = Math.max(0, handler - binding - repositoryNanos - serialization);
+        return new Phases(total, binding, repositoryNanos, repositoryCalls, serialization, controller, total - handler);
+    }
+}
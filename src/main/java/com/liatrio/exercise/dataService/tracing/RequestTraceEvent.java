@@ -0,0 +1,49 @@
+package com.liatrio.exercise.dataService.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// A sampled API request with its phase breakdown, recorded while a JFR recording runs
+@Name("dataservice.RequestTrace")
+@Label("Request Trace")
+@Description("A sampled request to the CoreProcess API and the time spent in each phase")
+@Category({"Data Service", "Requests"})
+@StackTrace(false)
+class RequestTraceEvent extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    String route;
+
+    @Label("Status")
+    int status;
+
+    @Label("Binding")
+    @Timespan
+    long binding;
+
+    @Label("Repository")
+    @Timespan
+    long repository;
+
+    @Label("Repository Calls")
+    int repositoryCalls;
+
+    @Label("Serialization")
+    @Timespan
+    long serialization;
+
+    @Label("Controller")
+    @Timespan
+    long controller;
+
+    @Label("Other")
+    @Timespan
+    long other;
+}
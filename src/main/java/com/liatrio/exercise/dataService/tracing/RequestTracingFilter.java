@@ -0,0 +1,163 @@
+package com.liatrio.exercise.dataService.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Traces a sample of the requests phase by phase, records the phases as timers and JFR
+// events, and logs every request slower than the threshold, with its phases if it was
+// sampled. An unsampled request costs a random draw and two clock reads here. Responses
+// streamed from another thread are traced up to the hand-off.
+public class RequestTracingFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RequestTracingFilter.class);
+
+    static final String PHASE_TIMER = "dataservice.request.phases";
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final MeterRegistry registry;
+    private final Counter slowCounter;
+    private final ConcurrentMap<String, ConcurrentMap<String, PhaseTimers>> phaseTimers =
+            new ConcurrentHashMap<>(); // route -> method -> timers
+
+    public RequestTracingFilter(double sampleRate, long slowThresholdNanos, MeterRegistry registry) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.registry = registry;
+        this.slowCounter = Counter.builder("dataservice.request.slow")
+                .description("Requests slower than the slow-request threshold")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestTrace trace = sampled() ? RequestTrace.begin(start) : null;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            RequestTrace.Phases phases = null;
+            if (trace != null) {
+                RequestTrace.clear();
+                phases = trace.phases(end);
+                record(request, response, trace, phases);
+            }
+            if (end - start >= slowThresholdNanos) {
+                slowCounter.increment();
+                logSlow(request, response, end - start, phases);
+            }
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestTrace trace,
+                        RequestTrace.Phases phases) {
+        String route = route(request);
+        PhaseTimers timers = phaseTimers(request.getMethod(), route);
+        timers.binding.record(phases.bindingNanos(), TimeUnit.NANOSECONDS);
+        timers.repository.record(phases.repositoryNanos(), TimeUnit.NANOSECONDS);
+        timers.serialization.record(phases.serializationNanos(), TimeUnit.NANOSECONDS);
+        timers.controller.record(phases.controllerNanos(), TimeUnit.NANOSECONDS);
+        timers.other.record(phases.otherNanos(), TimeUnit.NANOSECONDS);
+
+        RequestTraceEvent event = trace.event();
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.route = route;
+            event.status = response.getStatus();
+            event.binding = phases.bindingNanos();
+            event.repository = phases.repositoryNanos();
+            event.repositoryCalls = phases.repositoryCalls();
+            event.serialization = phases.serializationNanos();
+            event.controller = phases.controllerNanos();
+            event.other = phases.otherNanos();
+            event.commit();
+        }
+    }
+
+    // Registered once per method and route, on the first sampled request for them, and looked
+    // up without locking or allocating afterwards
+    private PhaseTimers phaseTimers(String method, String route) {
+        ConcurrentMap<String, PhaseTimers> byMethod = phaseTimers.get(route);
+        if (byMethod == null) {
+            byMethod = phaseTimers.computeIfAbsent(route, r -> new ConcurrentHashMap<>());
+        }
+        PhaseTimers timers = byMethod.get(method);
+        if (timers == null) {
+            timers = byMethod.computeIfAbsent(method, m -> new PhaseTimers(registry, m, route));
+        }
+        return timers;
+    }
+
+    private static void logSlow(HttpServletRequest request, HttpServletResponse response, long totalNanos,
+                                RequestTrace.Phases phases) {
+        String target = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        if (phases == null) {
+            log.warn("Slow request {} {} answered {} in {} ms (not sampled, no phase breakdown)",
+                    request.getMethod(), target, response.getStatus(), millis(totalNanos));
+            return;
+        }
+        log.warn("Slow request {} {} answered {} in {} ms: binding {} ms, repository {} ms ({} calls), "
+                        + "serialization {} ms, controller {} ms, other {} ms",
+                request.getMethod(), target, response.getStatus(), millis(totalNanos),
+                millis(phases.bindingNanos()), millis(phases.repositoryNanos()), phases.repositoryCalls(),
+                millis(phases.serializationNanos()), millis(phases.controllerNanos()), millis(phases.otherNanos()));
+    }
+
+    // The route template, so timers are not tagged per item ID
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "unmatched" : pattern.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    private static final class PhaseTimers {
+        final Timer binding;
+        final Timer repository;
+        final Timer serialization;
+        final Timer controller;
+        final Timer other;
+
+        PhaseTimers(MeterRegistry registry, String method, String route) {
+            this.binding = timer(registry, method, route, "binding");
+            this.repository = timer(registry, method, route, "repository");
+            this.serialization = timer(registry, method, route, "serialization");
+            this.controller = timer(registry, method, route, "controller");
+            this.other = timer(registry, method, route, "other");
+        }
+
+        private static Timer timer(MeterRegistry registry, String method, String route, String phase) {
+            return Timer.builder(PHASE_TIMER)
+                    .description("Time sampled requests spent in each phase")
+                    .tag("method", method)
+                    .tag("route", route)
+                    .tag("phase", phase)
+                    .register(registry);
+        }
+    }
+}
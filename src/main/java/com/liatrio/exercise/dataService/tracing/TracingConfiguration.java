@@ -0,0 +1,48 @@
+package com.liatrio.exercise.dataService.tracing;
+
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepositoryDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "dataservice.tracing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfiguration implements WebMvcConfigurer {
+
+    // After admission control and the replica filter: shed requests are not traced, and
+    // the time a follower holds a read back counts towards the total but no phase
+    @Bean
+    public FilterRegistrationBean<RequestTracingFilter> requestTracingFilter(TracingProperties properties,
+                                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        RequestTracingFilter filter = new RequestTracingFilter(properties.sampleRate(),
+                properties.slowThreshold().toNanos(), meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        FilterRegistrationBean<RequestTracingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/coreProcess/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    // Just inside the metrics decorator, so traced calls take as long as the timers report
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public CoreProcessItemsRepositoryDecorator tracingRepositoryDecorator() {
+        return TracingCoreProcessItemsRepository::new;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestPhaseInterceptor()).addPathPatterns("/api/coreProcess/**");
+    }
+}
@@ -0,0 +1,208 @@
+package com.liatrio.exercise.dataService.tracing;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+// Adds the time of every repository call to the trace of the request making it, when the
+// request is sampled, and records it as a JFR event while a recording asks for them. An
+// unsampled call outside a recording costs a thread-local read.
+public class TracingCoreProcessItemsRepository implements CoreProcessItemsRepository {
+    private final CoreProcessItemsRepository delegate;
+
+    public TracingCoreProcessItemsRepository(CoreProcessItemsRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Item> findAll() {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.findAll();
+        } finally {
+            end(event, "findAll", 1);
+        }
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.findById(id);
+        } finally {
+            end(event, "findById", 1);
+        }
+    }
+
+    @Override
+    public Item findItem(long id) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.findItem(id);
+        } finally {
+            end(event, "findItem", 1);
+        }
+    }
+
+    @Override
+    public Item save(Item item) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.save(item);
+        } finally {
+            end(event, "save", 1);
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        RepositoryOperationEvent event = begin();
+        try {
+            delegate.deleteById(id);
+        } finally {
+            end(event, "deleteById", 1);
+        }
+    }
+
+    @Override
+    public Item update(Item item) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.update(item);
+        } finally {
+            end(event, "update", 1);
+        }
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.saveAll(items);
+        } finally {
+            end(event, "saveAll", items.size());
+        }
+    }
+
+    @Override
+    public List<Optional<Item>> updateAll(List<Item> items) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.updateAll(items);
+        } finally {
+            end(event, "updateAll", items.size());
+        }
+    }
+
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.deleteAllById(ids);
+        } finally {
+            end(event, "deleteAllById", ids.size());
+        }
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.findPage(afterId, limit);
+        } finally {
+            end(event, "findPage", 1);
+        }
+    }
+
+    @Override
+    public List<Item> findByName(String name, int limit) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.findByName(name, limit);
+        } finally {
+            end(event, "findByName", 1);
+        }
+    }
+
+    @Override
+    public List<Item> findByNamePrefix(String prefix, int limit) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.findByNamePrefix(prefix, limit);
+        } finally {
+            end(event, "findByNamePrefix", 1);
+        }
+    }
+
+    @Override
+    public OptionalLong versionOf(Long id) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.versionOf(id);
+        } finally {
+            end(event, "versionOf", 1);
+        }
+    }
+
+    @Override
+    public long itemVersion(long id) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.itemVersion(id);
+        } finally {
+            end(event, "itemVersion", 1);
+        }
+    }
+
+    @Override
+    public long updateIfVersion(Item item, long expectedVersion) {
+        RepositoryOperationEvent event = begin();
+        try {
+            return delegate.updateIfVersion(item, expectedVersion);
+        } finally {
+            end(event, "updateIfVersion", 1);
+        }
+    }
+
+    // Not traced: the stream is consumed long after this call returns
+    @Override
+    public Stream<Item> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long version() {
+        return delegate.version();
+    }
+
+    private static RepositoryOperationEvent begin() {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.trace = RequestTrace.current();
+        if (event.trace != null) {
+            event.traceStart = System.nanoTime();
+        }
+        event.begin();
+        return event;
+    }
+
+    private static void end(RepositoryOperationEvent event, String operation, int items) {
+        event.end();
+        if (event.trace != null) {
+            event.trace.repositoryCall(System.nanoTime() - event.traceStart);
+        }
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.items = items;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.liatrio.exercise.dataService.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dataservice.tracing")
+public record TracingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.01") double sampleRate,
+        @DefaultValue("500ms") Duration slowThreshold) {
+}
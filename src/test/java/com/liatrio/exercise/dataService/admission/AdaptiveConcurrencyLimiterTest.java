@@ -0,0 +1,68 @@
+package com.liatrio.exercise.dataService.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void tryAcquire_ShouldRefuseRequestsBeyondTheLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofMillis(100));
+
+        // When & Then
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void release_ShouldGrowTheLimitWhileFastAndCutItWhenSlow() {
+        // Given
+        AtomicLong now = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, Duration.ofMillis(100), now::get);
+
+        // When the limit is fully used by fast requests for a few rounds
+        for (int round = 0; round < 5; round++) {
+            int limit = limiter.limit();
+            for (int i = 0; i < limit; i++) {
+                limiter.tryAcquire();
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.release(FAST);
+            }
+        }
+
+        // Then it grows by at most one per round
+        int grown = limiter.limit();
+        assertThat(grown).isBetween(11, 15);
+
+        // When a burst of requests turns slow
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.release(SLOW);
+        }
+
+        // Then the limit is cut once for the burst, and again once the threshold has passed
+        int cut = limiter.limit();
+        assertThat(cut).isLessThan(grown).isGreaterThanOrEqualTo((int) (grown * 0.9) - 1);
+        now.addAndGet(SLOW);
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+        assertThat(limiter.limit()).isLessThan(cut);
+    }
+}
@@ -0,0 +1,40 @@
+package com.liatrio.exercise.dataService.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldAdmitABurstThenRefillAtTheRate() {
+        // Given 10 requests per second with a burst of 3
+        AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 100, now::get);
+
+        // When & Then
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepABucketPerClient() {
+        // Given
+        AtomicLong now = new AtomicLong();
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100, now::get);
+        limiter.tryAcquire("a");
+
+        // When & Then
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+}
@@ -0,0 +1,136 @@
+package com.liatrio.exercise.dataService.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ItemVersionConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CachingCoreProcessItemsRepositoryTest {
+
+    private InMemoryCoreProcessItemsRepository backend;
+    private CachingCoreProcessItemsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        backend = spy(new InMemoryCoreProcessItemsRepository());
+        repository = new CachingCoreProcessItemsRepository(backend,
+                Caffeine.newBuilder().maximumSize(100).recordStats().build());
+    }
+
+    @Test
+    void findById_ShouldOnlyReachBackendOnFirstRead() {
+        // When
+        repository.findById(1L);
+        repository.findById(1L);
+        repository.findById(1L);
+
+        // Then
+        verify(backend, times(1)).findById(1L);
+        assertThat(repository.stats().hitCount()).isEqualTo(2);
+        assertThat(repository.stats().hitRate()).isEqualTo(2 / 3.0);
+    }
+
+    @Test
+    void findById_WithConcurrentMisses_ShouldLoadOnce() throws Exception {
+        // Given a slow backend
+        doAnswer(invocation -> {
+            Thread.sleep(100);
+            return invocation.callRealMethod();
+        }).when(backend).findById(2L);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<?>> readers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    return repository.findById(2L);
+                }));
+            }
+            start.countDown();
+            for (Future<?> reader : readers) {
+                assertThat(reader.get()).isEqualTo(Optional.of(new Item(2L, "Item 2")));
+            }
+        }
+
+        // Then
+        verify(backend, times(1)).findById(2L);
+    }
+
+    @Test
+    void writes_ShouldKeepCachedItemsAndVersionsCurrent() {
+        // Given
+        repository.findById(1L);
+        repository.findById(2L);
+        repository.findById(3L);
+
+        // When
+        repository.update(new Item(1L, "Updated"));
+        repository.deleteById(2L);
+        repository.updateAll(List.of(new Item(3L, "Batch Updated")));
+
+        // Then
+        assertThat(repository.findById(1L)).contains(new Item(1L, "Updated"));
+        assertThat(repository.versionOf(1L)).isEqualTo(backend.versionOf(1L));
+        assertThat(repository.findById(2L)).isEmpty();
+        assertThat(repository.findById(3L)).contains(new Item(3L, "Batch Updated"));
+    }
+
+    @Test
+    void findById_WhileTheItemIsWritten_ShouldNotWaitForTheWrite() throws Exception {
+        // Given a write of item 1 that is held in the backend
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return invocation.callRealMethod();
+        }).when(backend).update(any());
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Item> write = executor.submit(() -> repository.update(new Item(1L, "Updated")));
+            writing.await();
+
+            // When/Then the miss is loaded without waiting for the write
+            assertThat(repository.findById(1L)).contains(new Item(1L, "Item 1"));
+
+            release.countDown();
+            write.get();
+        }
+
+        // Then the written item replaces the loaded one
+        assertThat(repository.findById(1L)).contains(new Item(1L, "Updated"));
+        assertThat(repository.versionOf(1L)).isEqualTo(backend.versionOf(1L));
+    }
+
+    @Test
+    void updateIfVersion_WithStaleVersion_ShouldLeaveCacheUntouched() {
+        // Given
+        long version = repository.versionOf(1L).getAsLong();
+        repository.update(new Item(1L, "Changed Elsewhere"));
+
+        // When/Then
+        assertThatThrownBy(() -> repository.updateIfVersion(new Item(1L, "Stale"), version))
+                .isInstanceOf(ItemVersionConflictException.class);
+        assertThat(repository.findById(1L)).contains(new Item(1L, "Changed Elsewhere"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.liatrio.exercise.dataService.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class EncodedItemListCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private InMemoryCoreProcessItemsRepository repository;
+    private EncodedItemListCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = spy(new InMemoryCoreProcessItemsRepository());
+        cache = new EncodedItemListCache(repository, objectMapper, true);
+    }
+
+    @Test
+    void get_ShouldReuseEncodingUntilRepositoryChanges() throws Exception {
+        // When
+        EncodedItemListCache.EncodedItemList first = cache.get();
+        EncodedItemListCache.EncodedItemList second = cache.get();
+        repository.save(new Item(null, "New Item"));
+        EncodedItemListCache.EncodedItemList third = cache.get();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotSameAs(first);
+        verify(repository, times(2)).findAll();
+
+        JsonNode response = objectMapper.readTree(third.json());
+        assertThat(response.get("data")).hasSize(4);
+        assertThat(response.get("data").get(3).get("name").asText()).isEqualTo("New Item");
+        assertThat(response.get("timestamp").asLong()).isEqualTo(third.timestamp());
+    }
+
+    @Test
+    void get_ShouldCompressTheSameResponse() throws Exception {
+        // When
+        EncodedItemListCache.EncodedItemList encoded = cache.get();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzipped()))) {
+            assertThat(in.readAllBytes()).isEqualTo(encoded.json());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.liatrio.exercise.dataService.changes;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemChangeLogTest {
+
+    @Test
+    void repositoryMutations_ShouldBePublishedInOrderWithTheirType() {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        ItemChangeLog changeLog = new ItemChangeLog(16);
+        repository.setAppliedChangeListener(changeLog);
+
+        // When
+        Item created = repository.save(new Item(null, "New Item"));
+        repository.update(new Item(1L, "Renamed Item"));
+        repository.save(new Item(2L, "Upserted Item"));
+        repository.deleteById(3L);
+        repository.updateAll(List.of(new Item(99L, "Missing Item")));
+
+        // Then only the mutations that took effect are published
+        List<ItemChangeEvent> events = new ArrayList<>();
+        assertThat(changeLog.readAfter(0, 100, events)).isTrue();
+        assertThat(events).extracting(ItemChangeEvent::sequence).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(events).extracting(ItemChangeEvent::type).containsExactly(
+                ItemChangeEvent.Type.CREATED, ItemChangeEvent.Type.UPDATED,
+                ItemChangeEvent.Type.UPDATED, ItemChangeEvent.Type.DELETED);
+        assertThat(events).extracting(ItemChangeEvent::item).containsExactly(
+                created, new Item(1L, "Renamed Item"), new Item(2L, "Upserted Item"), null);
+        assertThat(events.get(3).id()).isEqualTo(3L);
+    }
+
+    @Test
+    void readAfter_ShouldResumeFromAnySequenceStillHeld() {
+        // Given a ring that has wrapped around
+        ItemChangeLog changeLog = new ItemChangeLog(4);
+        for (long id = 1; id <= 10; id++) {
+            changeLog.onCreate(new Item(id, "Item " + id));
+        }
+
+        // When
+        List<ItemChangeEvent> events = new ArrayList<>();
+        boolean complete = changeLog.readAfter(6, 2, events);
+
+        // Then
+        assertThat(complete).isTrue();
+        assertThat(events).extracting(ItemChangeEvent::id).containsExactly(7L, 8L);
+        assertThat(changeLog.canResumeAfter(6)).isTrue();
+        assertThat(changeLog.canResumeAfter(10)).isTrue();
+    }
+
+    @Test
+    void readAfter_WhenEventsHaveBeenOverwritten_ShouldReturnFalse() {
+        // Given
+        ItemChangeLog changeLog = new ItemChangeLog(4);
+        for (long id = 1; id <= 10; id++) {
+            changeLog.onCreate(new Item(id, "Item " + id));
+        }
+
+        // When
+        List<ItemChangeEvent> events = new ArrayList<>();
+        boolean complete = changeLog.readAfter(5, 100, events);
+
+        // Then
+        assertThat(complete).isFalse();
+        assertThat(changeLog.canResumeAfter(5)).isFalse();
+        assertThat(changeLog.canResumeAfter(11)).isFalse();
+    }
+
+    @Test
+    void awaitAfter_ShouldWakeUpOnPublish() throws Exception {
+        // Given
+        ItemChangeLog changeLog = new ItemChangeLog(4);
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return changeLog.awaitAfter(0, Duration.ofSeconds(30));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // When
+        Thread.sleep(50);
+        changeLog.onDelete(1L);
+
+        // Then
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(changeLog.awaitAfter(1, Duration.ofMillis(10))).isFalse();
+    }
+
+    @Test
+    void parseEventId_ShouldOnlyAcceptIdsOfThisLog() {
+        // Given
+        ItemChangeLog changeLog = new ItemChangeLog(4);
+
+        // Then
+        assertThat(changeLog.parseEventId(changeLog.eventId(42))).hasValue(42);
+        assertThat(changeLog.parseEventId("0-42")).isEmpty();
+        assertThat(changeLog.parseEventId("42")).isEmpty();
+    }
+}
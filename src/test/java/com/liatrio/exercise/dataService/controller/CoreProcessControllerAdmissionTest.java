@@ -0,0 +1,52 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.liatrio.exercise.dataService.admission.AdmissionConfiguration;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SuppressWarnings("deprecation")
+@WebMvcTest(controllers = CoreProcessController.class, properties = {
+        "dataservice.admission.enabled=true",
+        "dataservice.admission.rate=1",
+        "dataservice.admission.burst=1"
+})
+@Import(AdmissionConfiguration.class)
+class CoreProcessControllerAdmissionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CoreProcessItemsRepository repository;
+
+    @Test
+    void getItemById_WhenClientExceedsItsRate_ShouldBeShedBeforeTheRepository() throws Exception {
+        // Given
+        when(repository.findItem(anyLong())).thenReturn(new Item(1L, "Item 1"));
+        when(repository.itemVersion(anyLong())).thenReturn(1L);
+
+        // When & Then
+        mockMvc.perform(get("/api/coreProcess/items/1").header("X-Client-Id", "greedy"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/coreProcess/items/1").header("X-Client-Id", "greedy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+        mockMvc.perform(get("/api/coreProcess/items/1").header("X-Client-Id", "polite"))
+                .andExpect(status().isOk());
+        verify(repository, times(2)).findItem(1L);
+    }
+}
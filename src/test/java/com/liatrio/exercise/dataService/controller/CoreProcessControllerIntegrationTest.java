@@ -1,9 +1,12 @@
 package com.liatrio.exercise.dataService.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.dto.BatchCreateRequest;
+import com.liatrio.exercise.dataService.dto.BatchDeleteRequest;
 import com.liatrio.exercise.dataService.dto.CreateItemRequest;
 import com.liatrio.exercise.dataService.dto.UpdateItemRequest;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -11,6 +14,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -33,6 +39,9 @@ class CoreProcessControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void getAllItems_ShouldReturnItemsFromRepository() throws Exception {
         mockMvc.perform(get("/api/coreProcess/items")
@@ -43,6 +52,17 @@ class CoreProcessControllerIntegrationTest {
                 .andExpect(jsonPath("$.timestamp").isNumber());
     }
     
+    @Test
+    void getAllItems_WithLimit_ShouldPageFromCursor() throws Exception {
+        mockMvc.perform(get("/api/coreProcess/items?afterId=1&limit=2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Link"))
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].id", is(2)))
+                .andExpect(jsonPath("$.data[1].id", is(3)));
+    }
+    
     @Test
     void updateItem_ShouldUpdateExistingItem() throws Exception {
         // First, create a new item to ensure it exists
@@ -199,4 +219,83 @@ class CoreProcessControllerIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void batchCreateAndDelete_ShouldApplyEveryItem() throws Exception {
+        // Create two items in one request
+        BatchCreateRequest createRequest = new BatchCreateRequest(List.of(
+                new CreateItemRequest("Batch Item 1"),
+                new CreateItemRequest("Batch Item 2")
+        ));
+
+        String response = mockMvc.perform(post("/api/coreProcess/items:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].status", is(201)))
+                .andExpect(jsonPath("$.data[1].status", is(201)))
+                .andReturn().getResponse().getContentAsString();
+
+        // Extract the generated IDs
+        Long firstId = objectMapper.readTree(response).at("/data/0/id").asLong();
+        Long secondId = objectMapper.readTree(response).at("/data/1/id").asLong();
+
+        // Delete both, plus one that never existed
+        BatchDeleteRequest deleteRequest = new BatchDeleteRequest(List.of(firstId, secondId, 99999L));
+
+        mockMvc.perform(delete("/api/coreProcess/items:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(deleteRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status", is(200)))
+                .andExpect(jsonPath("$.data[1].status", is(200)))
+                .andExpect(jsonPath("$.data[2].status", is(404)));
+
+        // Verify they are gone
+        mockMvc.perform(get("/api/coreProcess/items/" + firstId)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllItems_WithNamePrefix_ShouldFindCreatedItems() throws Exception {
+        // Given
+        for (String name : List.of("Prefix Search B", "Prefix Search A", "Other Prefix Search")) {
+            mockMvc.perform(post("/api/coreProcess/items")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CreateItemRequest(name))))
+                    .andExpect(status().isCreated());
+        }
+
+        // When/Then
+        mockMvc.perform(get("/api/coreProcess/items")
+                .param("namePrefix", "Prefix Search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].name", is("Prefix Search A")))
+                .andExpect(jsonPath("$.data[1].name", is("Prefix Search B")));
+
+        mockMvc.perform(get("/api/coreProcess/items")
+                .param("name", "Other Prefix Search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)));
+    }
+
+    @Test
+    void getItemById_WithNonExistingId_ShouldCountNotFoundAndTimeLookup() throws Exception {
+        // Given
+        double notFoundBefore = meterRegistry.get("dataservice.api.responses").tag("outcome", "not_found").counter().count();
+
+        // When
+        mockMvc.perform(get("/api/coreProcess/items/99999")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+
+        // Then
+        assertThat(meterRegistry.get("dataservice.api.responses").tag("outcome", "not_found").counter().count())
+                .isEqualTo(notFoundBefore + 1);
+        assertThat(meterRegistry.get("dataservice.repository.operations").tag("operation", "findById").timer().count())
+                .isPositive();
+    }
 }
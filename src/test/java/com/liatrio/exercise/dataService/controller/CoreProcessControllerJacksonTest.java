@@ -0,0 +1,66 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SuppressWarnings("deprecation")
+@WebMvcTest(controllers = CoreProcessController.class, properties = "spring.jackson.default-property-inclusion=non_null")
+class CoreProcessControllerJacksonTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CoreProcessItemsRepository repository;
+
+    @Test
+    void streamAllItems_WithCborAccept_ShouldApplyTheJacksonSettings() throws Exception {
+        // Given
+        when(repository.streamAll()).thenReturn(Stream.of(new Item(1L, null)));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/coreProcess/items?stream=true")
+                        .accept("application/cbor-seq"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then the null name is left out, as it is in JSON
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode item = new CBORMapper().readTree(body);
+        assertThat(item.get("id").asLong()).isEqualTo(1L);
+        assertThat(item.has("name")).isFalse();
+    }
+
+    @Test
+    void getItemById_ShouldApplyTheJacksonSettings() throws Exception {
+        // Given
+        when(repository.itemVersion(1L)).thenReturn(7L);
+        when(repository.findItem(1L)).thenReturn(new Item(1L, null));
+
+        // When/Then the item is written by the converters, as the encoder would write the null name
+        mockMvc.perform(get("/api/coreProcess/items/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(1))
+                .andExpect(jsonPath("$.data.name").doesNotExist());
+    }
+}
@@ -0,0 +1,103 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.cache.ItemListCacheConfiguration;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SuppressWarnings("deprecation")
+@WebMvcTest(controllers = CoreProcessController.class, properties = "dataservice.list-cache.enabled=true")
+@Import(ItemListCacheConfiguration.class)
+class CoreProcessControllerListCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private CoreProcessItemsRepository repository;
+
+    @Test
+    void getAllItems_ShouldServeTheEncodedListUntilTheVersionChanges() throws Exception {
+        // Given
+        when(repository.version()).thenReturn(7L);
+        when(repository.findAll()).thenReturn(List.of(new Item(1L, "Item 1")));
+
+        // When & Then
+        mockMvc.perform(get("/api/coreProcess/items"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("Item 1"));
+        mockMvc.perform(get("/api/coreProcess/items"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("Item 1"));
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void getAllItems_WhenClientAcceptsGzip_ShouldServeTheCompressedList() throws Exception {
+        // Given
+        when(repository.version()).thenReturn(8L);
+        when(repository.findAll()).thenReturn(List.of(new Item(2L, "Item 2")));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/coreProcess/items").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andReturn();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            JsonNode response = objectMapper.readTree(in);
+            assertThat(response.get("data").get(0).get("name").asText()).isEqualTo("Item 2");
+        }
+    }
+
+    @Test
+    void getAllItems_ShouldTagTheCompressedListApartFromTheIdentityList() throws Exception {
+        // Given
+        when(repository.version()).thenReturn(9L);
+        when(repository.findAll()).thenReturn(List.of(new Item(3L, "Item 3")));
+        String identityTag = mockMvc.perform(get("/api/coreProcess/items"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When
+        String gzipTag = mockMvc.perform(get("/api/coreProcess/items")
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", identityTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Then
+        assertThat(gzipTag).isNotEqualTo(identityTag);
+        mockMvc.perform(get("/api/coreProcess/items")
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", gzipTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"));
+    }
+}
@@ -1,22 +1,38 @@
 package com.liatrio.exercise.dataService.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.liatrio.exercise.dataService.dto.BatchCreateRequest;
+import com.liatrio.exercise.dataService.dto.BatchDeleteRequest;
+import com.liatrio.exercise.dataService.dto.BatchUpdateRequest;
 import com.liatrio.exercise.dataService.dto.CreateItemRequest;
 import com.liatrio.exercise.dataService.dto.UpdateItemRequest;
 import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.BatchWriteException;
 import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ItemVersionConflictException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -24,10 +40,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -69,6 +88,122 @@ class CoreProcessControllerTest {
                 .andExpect(jsonPath("$.data[2].name", is("Item 3")));
     }
     
+    @Test
+    void getAllItems_WithLimit_ShouldReturnPageWithNextLink() throws Exception {
+        // Given
+        List<Item> page = List.of(
+                new Item(2L, "Item 2"),
+                new Item(3L, "Item 3")
+        );
+        when(repository.findPage(eq(1L), eq(2))).thenReturn(page);
+
+        // When/Then
+        mockMvc.perform(get("/api/coreProcess/items?afterId=1&limit=2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", "<http://localhost/api/coreProcess/items?afterId=3&limit=2>; rel=\"next\""))
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].id", is(2)))
+                .andExpect(jsonPath("$.data[1].id", is(3)));
+    }
+
+    @Test
+    void getAllItems_WithLastPage_ShouldOmitNextLink() throws Exception {
+        // Given
+        when(repository.findPage(eq(3L), eq(2))).thenReturn(List.of());
+
+        // When/Then
+        mockMvc.perform(get("/api/coreProcess/items?afterId=3&limit=2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
+                .andExpect(jsonPath("$.data", hasSize(0)));
+    }
+
+    @Test
+    void getAllItems_WithInvalidLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/coreProcess/items?limit=0")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamAllItems_ShouldWriteOneJsonItemPerLine() throws Exception {
+        // Given
+        when(repository.streamAll()).thenReturn(Stream.of(
+                new Item(1L, "Item 1"),
+                new Item(2L, "Item 2")
+        ));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/coreProcess/items?stream=true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1,\"name\":\"Item 1\"}\n{\"id\":2,\"name\":\"Item 2\"}\n"));
+    }
+
+    @Test
+    void streamAllItems_WithCborAccept_ShouldWriteCborSequence() throws Exception {
+        // Given
+        when(repository.streamAll()).thenReturn(Stream.of(
+                new Item(1L, "Item 1"),
+                new Item(2L, "Item 2")
+        ));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/coreProcess/items?stream=true")
+                        .accept("application/cbor-seq"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor-seq"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (MappingIterator<Item> items = new CBORMapper().readerFor(Item.class).readValues(body)) {
+            assertThat(items.readAll()).containsExactly(new Item(1L, "Item 1"), new Item(2L, "Item 2"));
+        }
+    }
+
+    @Test
+    void createItem_WithCborBody_ShouldAnswerInCbor() throws Exception {
+        // Given
+        CBORMapper cborMapper = new CBORMapper();
+        when(repository.save(any(Item.class))).thenReturn(new Item(4L, "New Item"));
+
+        // When
+        byte[] body = mockMvc.perform(post("/api/coreProcess/items")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(new CreateItemRequest("New Item"))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode response = cborMapper.readTree(body);
+        assertThat(response.get("data").get("id").asLong()).isEqualTo(4L);
+        assertThat(response.get("data").get("name").asText()).isEqualTo("New Item");
+    }
+
+    @Test
+    void getAllItems_WhenCborIsNotPreferred_ShouldAnswerInJson() throws Exception {
+        // Given
+        when(repository.findAll()).thenReturn(List.of(new Item(1L, "Item 1")));
+
+        // When/Then
+        mockMvc.perform(get("/api/coreProcess/items").header("Accept", "application/json, application/cbor;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data[0].name", is("Item 1")));
+    }
+    
     @Test
     void updateItem_ShouldReturnUpdatedItem() throws Exception {
         // Given
@@ -79,8 +214,7 @@ class CoreProcessControllerTest {
         Item originalItem = new Item(itemId, "Original Item Name");
         Item updatedItem = new Item(itemId, newName);
         
-        when(repository.findById(eq(itemId))).thenReturn(java.util.Optional.of(originalItem));
-        when(repository.update(any(Item.class))).thenReturn(updatedItem);
+        when(repository.update(new Item(itemId, newName))).thenReturn(updatedItem);
         
         // When/Then
         mockMvc.perform(patch("/api/coreProcess/items/" + itemId)
@@ -99,7 +233,7 @@ class CoreProcessControllerTest {
         Long nonExistingId = 999L;
         UpdateItemRequest updateRequest = new UpdateItemRequest("New Name");
         
-        when(repository.findById(eq(nonExistingId))).thenReturn(java.util.Optional.empty());
+        when(repository.update(any(Item.class))).thenThrow(new IllegalArgumentException("Item with ID 999 not found"));
         
         // When/Then
         mockMvc.perform(patch("/api/coreProcess/items/" + nonExistingId)
@@ -156,7 +290,8 @@ class CoreProcessControllerTest {
     void getItemById_ShouldReturnSingleItem() throws Exception {
         // Given
         Item item = new Item(1L, "Item 1");
-        when(repository.findById(eq(1L))).thenReturn(java.util.Optional.of(item));
+        when(repository.itemVersion(1L)).thenReturn(CoreProcessItemsRepository.NO_VERSION);
+        when(repository.findItem(1L)).thenReturn(item);
         
         // When/Then
         mockMvc.perform(get("/api/coreProcess/items/1")
@@ -171,7 +306,8 @@ class CoreProcessControllerTest {
     @Test
     void getItemById_WithNonExistingId_ShouldReturnNotFound() throws Exception {
         // Given
-        when(repository.findById(anyLong())).thenReturn(java.util.Optional.empty());
+        when(repository.itemVersion(anyLong())).thenReturn(CoreProcessItemsRepository.NO_VERSION);
+        when(repository.findItem(anyLong())).thenReturn(null);
         
         // When/Then
         mockMvc.perform(get("/api/coreProcess/items/999")
@@ -202,4 +338,344 @@ class CoreProcessControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void createItems_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        BatchCreateRequest batchRequest = new BatchCreateRequest(List.of(
+                new CreateItemRequest("New Item A"),
+                new CreateItemRequest(" "),
+                new CreateItemRequest("New Item B")
+        ));
+        when(repository.saveAll(eq(List.of(new Item(null, "New Item A"), new Item(null, "New Item B")))))
+                .thenReturn(List.of(new Item(4L, "New Item A"), new Item(5L, "New Item B")));
+
+        // When/Then
+        mockMvc.perform(post("/api/coreProcess/items:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[0].status", is(201)))
+                .andExpect(jsonPath("$.data[0].data.id", is(4)))
+                .andExpect(jsonPath("$.data[1].status", is(400)))
+                .andExpect(jsonPath("$.data[2].status", is(201)))
+                .andExpect(jsonPath("$.data[2].data.name", is("New Item B")))
+                .andExpect(jsonPath("$.timestamp").isNumber());
+    }
+
+    @Test
+    void createItems_WhenBatchFailsPartWay_ShouldReportAppliedAndFailedEntries() throws Exception {
+        // Given
+        BatchCreateRequest batchRequest = new BatchCreateRequest(List.of(
+                new CreateItemRequest("New Item A"),
+                new CreateItemRequest("New Item B"),
+                new CreateItemRequest("New Item C")
+        ));
+        when(repository.saveAll(anyList())).thenThrow(new BatchWriteException(
+                List.of(new Item(4L, "New Item A")), new IllegalStateException("Disk full")));
+
+        // When/Then
+        mockMvc.perform(post("/api/coreProcess/items:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[0].status", is(201)))
+                .andExpect(jsonPath("$.data[0].data.id", is(4)))
+                .andExpect(jsonPath("$.data[1].status", is(500)))
+                .andExpect(jsonPath("$.data[2].status", is(500)));
+    }
+
+    @Test
+    void createItems_WithEmptyBatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/coreProcess/items:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchCreateRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateItems_ShouldReportNotFoundPerItem() throws Exception {
+        // Given
+        BatchUpdateRequest batchRequest = new BatchUpdateRequest(List.of(
+                new BatchUpdateRequest.Entry(1L, "Renamed"),
+                new BatchUpdateRequest.Entry(999L, "Missing")
+        ));
+        when(repository.updateAll(anyList()))
+                .thenReturn(List.of(Optional.of(new Item(1L, "Renamed")), Optional.empty()));
+
+        // When/Then
+        mockMvc.perform(patch("/api/coreProcess/items:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id", is(1)))
+                .andExpect(jsonPath("$.data[0].status", is(200)))
+                .andExpect(jsonPath("$.data[0].data.name", is("Renamed")))
+                .andExpect(jsonPath("$.data[1].id", is(999)))
+                .andExpect(jsonPath("$.data[1].status", is(404)));
+    }
+
+    @Test
+    void deleteItems_WhenBatchFailsPartWay_ShouldReportAppliedAndFailedEntries() throws Exception {
+        // Given
+        when(repository.deleteAllById(eq(List.of(1L, 2L)))).thenThrow(new BatchWriteException(
+                List.of(true), new IllegalStateException("Disk full")));
+
+        // When/Then
+        mockMvc.perform(delete("/api/coreProcess/items:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchDeleteRequest(List.of(1L, 2L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id", is(1)))
+                .andExpect(jsonPath("$.data[0].status", is(200)))
+                .andExpect(jsonPath("$.data[1].id", is(2)))
+                .andExpect(jsonPath("$.data[1].status", is(500)));
+    }
+
+    @Test
+    void deleteItems_ShouldReportNotFoundPerItem() throws Exception {
+        // Given
+        when(repository.deleteAllById(eq(List.of(1L, 999L)))).thenReturn(List.of(true, false));
+
+        // When/Then
+        mockMvc.perform(delete("/api/coreProcess/items:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchDeleteRequest(List.of(1L, 999L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id", is(1)))
+                .andExpect(jsonPath("$.data[0].status", is(200)))
+                .andExpect(jsonPath("$.data[1].id", is(999)))
+                .andExpect(jsonPath("$.data[1].status", is(404)));
+    }
+
+    @Test
+    void getAllItems_WithMatchingIfNoneMatch_ShouldReturnNotModifiedWithoutReadingItems() throws Exception {
+        // Given
+        when(repository.version()).thenReturn(42L);
+        when(repository.findAll()).thenReturn(List.of(new Item(1L, "Item 1")));
+
+        String etag = mockMvc.perform(get("/api/coreProcess/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        mockMvc.perform(get("/api/coreProcess/items")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void getItemById_WithStaleIfNoneMatch_ShouldReturnItem() throws Exception {
+        // Given
+        when(repository.itemVersion(1L)).thenReturn(7L, 8L);
+        when(repository.findItem(1L)).thenReturn(new Item(1L, "Item 1"));
+
+        String etag = mockMvc.perform(get("/api/coreProcess/items/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        mockMvc.perform(get("/api/coreProcess/items/1")
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name", is("Item 1")))
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    void getAllItems_WithMalformedCborAccept_ShouldReturnNotAcceptable() throws Exception {
+        // Given
+        when(repository.findAll()).thenReturn(List.of(new Item(1L, "Item 1")));
+
+        // When/Then the header is rejected like any other malformed Accept, not failed on
+        mockMvc.perform(get("/api/coreProcess/items").header("Accept", "application/cbor;q=high"))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void getItemById_WithoutAcceptableFormat_ShouldReturnNotAcceptable() throws Exception {
+        // Given
+        when(repository.itemVersion(1L)).thenReturn(7L);
+        when(repository.findItem(1L)).thenReturn(new Item(1L, "Item 1"));
+
+        // When/Then
+        for (String accept : List.of("application/xml", "text/plain", "application/cbor-seq")) {
+            mockMvc.perform(get("/api/coreProcess/items/1").header("Accept", accept))
+                    .andExpect(status().isNotAcceptable());
+        }
+    }
+
+    @Test
+    void getItemById_InCbor_ShouldBeTaggedApartFromJson() throws Exception {
+        // Given
+        when(repository.itemVersion(1L)).thenReturn(7L);
+        when(repository.findItem(1L)).thenReturn(new Item(1L, "Item 1"));
+        String jsonTag = mockMvc.perform(get("/api/coreProcess/items/1"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When
+        String cborTag = mockMvc.perform(get("/api/coreProcess/items/1")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", jsonTag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Then
+        assertThat(cborTag).isNotEqualTo(jsonTag);
+        mockMvc.perform(get("/api/coreProcess/items/1")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", cborTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    void getAllItems_InCbor_ShouldBeTaggedApartFromJson() throws Exception {
+        // Given
+        when(repository.version()).thenReturn(42L);
+        when(repository.findAll()).thenReturn(List.of(new Item(1L, "Item 1")));
+        String jsonTag = mockMvc.perform(get("/api/coreProcess/items"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        mockMvc.perform(get("/api/coreProcess/items")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", jsonTag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(header().string("ETag", not(jsonTag)));
+    }
+
+    @Test
+    void updateItem_WithMatchingIfMatch_ShouldUpdateAtomicallyAndReturnNewETag() throws Exception {
+        // Given
+        when(repository.itemVersion(1L)).thenReturn(7L);
+        when(repository.findItem(1L)).thenReturn(new Item(1L, "Item 1"));
+        when(repository.updateIfVersion(new Item(1L, "Updated Item"), 7L)).thenReturn(8L);
+
+        String etag = mockMvc.perform(get("/api/coreProcess/items/1"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        mockMvc.perform(patch("/api/coreProcess/items/1")
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateItemRequest("Updated Item"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name", is("Updated Item")))
+                .andExpect(header().string("ETag", not(etag)));
+
+        verify(repository, never()).update(any(Item.class));
+    }
+
+    @Test
+    void updateItem_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(repository.itemVersion(1L)).thenReturn(7L);
+        when(repository.findItem(1L)).thenReturn(new Item(1L, "Item 1"));
+        when(repository.updateIfVersion(any(Item.class), eq(7L)))
+                .thenThrow(new ItemVersionConflictException(1L, 7L, 8L));
+
+        String etag = mockMvc.perform(get("/api/coreProcess/items/1"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        mockMvc.perform(patch("/api/coreProcess/items/1")
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateItemRequest("Updated Item"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateItem_WithForeignIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // When/Then
+        mockMvc.perform(patch("/api/coreProcess/items/1")
+                .header("If-Match", "\"not-one-of-ours\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateItemRequest("Updated Item"))))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(repository, never()).updateIfVersion(any(Item.class), anyLong());
+    }
+
+    @Test
+    void updateItem_WithoutIfMatch_ShouldReturnETagOfTheWrittenVersion() throws Exception {
+        // Given
+        Item updatedItem = new Item(1L, "Updated Item");
+        when(repository.update(updatedItem)).thenReturn(updatedItem);
+        when(repository.itemVersion(1L)).thenReturn(8L);
+        when(repository.findItem(1L)).thenReturn(updatedItem);
+
+        // When
+        String etag = mockMvc.perform(patch("/api/coreProcess/items/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateItemRequest("Updated Item"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Then
+        mockMvc.perform(get("/api/coreProcess/items/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void updateItem_WithIfMatchAnyAndMissingItem_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(repository.update(any(Item.class))).thenThrow(new IllegalArgumentException("Item with ID 999 not found"));
+
+        // When/Then
+        mockMvc.perform(patch("/api/coreProcess/items/999")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateItemRequest("Updated Item"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void getAllItems_WithName_ShouldSearchNameIndex() throws Exception {
+        // Given
+        when(repository.findByName("Widget", CoreProcessController.DEFAULT_PAGE_SIZE))
+                .thenReturn(List.of(new Item(7L, "Widget")));
+
+        // When/Then
+        mockMvc.perform(get("/api/coreProcess/items?name=Widget"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].id", is(7)));
+    }
+
+    @Test
+    void getAllItems_WithNamePrefixAndLimit_ShouldSearchPrefixIndex() throws Exception {
+        // Given
+        when(repository.findByNamePrefix("Wid", 2))
+                .thenReturn(List.of(new Item(7L, "Widget"), new Item(8L, "Widgets")));
+
+        // When/Then
+        mockMvc.perform(get("/api/coreProcess/items?namePrefix=Wid&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[1].name", is("Widgets")));
+    }
+
+    @Test
+    void getAllItems_WithNameAndCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/coreProcess/items?name=Widget&afterId=3"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/coreProcess/items?name=Widget&namePrefix=Wid"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,54 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.tracing.TracingConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SuppressWarnings("deprecation")
+@WebMvcTest(controllers = CoreProcessController.class, properties = {
+        "dataservice.tracing.enabled=true",
+        "dataservice.tracing.sample-rate=1",
+        "dataservice.tracing.slow-threshold=0ms"
+})
+@Import(TracingConfiguration.class)
+@ExtendWith(OutputCaptureExtension.class)
+class CoreProcessControllerTracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CoreProcessItemsRepository repository;
+
+    @Test
+    void slowRequest_ShouldBeLoggedWithItsPhases(CapturedOutput output) throws Exception {
+        // Given
+        when(repository.update(new Item(1L, "Renamed"))).thenReturn(new Item(1L, "Renamed"));
+
+        // When
+        mockMvc.perform(patch("/api/coreProcess/items/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(output).containsPattern("Slow request PATCH /api/coreProcess/items/1 answered 200 in [0-9.]+ ms: "
+                + "binding [0-9.]+ ms, repository [0-9.]+ ms \\(\\d+ calls\\), serialization [0-9.]+ ms, "
+                + "controller [0-9.]+ ms, other [0-9.]+ ms");
+    }
+}
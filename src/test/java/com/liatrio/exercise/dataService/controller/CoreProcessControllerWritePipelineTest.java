@@ -0,0 +1,98 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.dto.CreateItemRequest;
+import com.liatrio.exercise.dataService.dto.UpdateItemRequest;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.pipeline.WritePipelineConfiguration;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SuppressWarnings("deprecation")
+@WebMvcTest(controllers = CoreProcessController.class, properties = {
+        "dataservice.write-pipeline.enabled=true",
+        "dataservice.write-pipeline.write-timeout=200ms"
+})
+@Import(WritePipelineConfiguration.class)
+class CoreProcessControllerWritePipelineTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private CoreProcessItemsRepository repository;
+
+    @Test
+    void createItem_ShouldBeSavedThroughThePipeline() throws Exception {
+        // Given
+        when(repository.saveAll(anyList())).thenReturn(List.of(new Item(4L, "New Item")));
+
+        // When & Then
+        mockMvc.perform(post("/api/coreProcess/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateItemRequest("New Item"))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/coreProcess/items/4"))
+                .andExpect(jsonPath("$.data.id").value(4));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void updateItem_WhenItemDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(repository.updateAll(anyList())).thenReturn(List.of(Optional.empty()));
+
+        // When & Then
+        mockMvc.perform(patch("/api/coreProcess/items/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateItemRequest("Missing"))))
+                .andExpect(status().isNotFound());
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void createItem_WhenTheWriteTakesLongerThanTheTimeout_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new Item(4L, "Slow Item"));
+        });
+
+        // When & Then
+        try {
+            mockMvc.perform(post("/api/coreProcess/items")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateItemRequest("Slow Item"))))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.dto.CreateItemRequest;
+import com.liatrio.exercise.dataService.dto.UpdateItemRequest;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.BlockingReactiveCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ReactiveCoreProcessItemsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+
+class CoreProcessHandlerTest {
+
+    private ReactiveCoreProcessItemsRepository repository;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BlockingReactiveCoreProcessItemsRepository(
+                new InMemoryCoreProcessItemsRepository(), Schedulers.boundedElastic());
+        CoreProcessRouter router = new CoreProcessRouter();
+        CoreProcessHandler handler = router.coreProcessHandler(repository, new ObjectMapper());
+        client = WebTestClient
+                .bindToRouterFunction(router.coreProcessRoutes(handler))
+                .build();
+    }
+
+    @Test
+    void getAllItems_ShouldReturnListOfItems() {
+        client.get().uri("/api/coreProcess/items")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(3)
+                .jsonPath("$.data[0].name").isEqualTo("Item 1")
+                .jsonPath("$.timestamp").exists();
+    }
+
+    @Test
+    void getAllItems_WhenEmpty_ShouldReturnEmptyList() {
+        // Given
+        for (long id = 1; id <= 3; id++) {
+            repository.deleteById(id).block();
+        }
+
+        // When/Then
+        client.get().uri("/api/coreProcess/items")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(0)
+                .jsonPath("$.timestamp").isNumber();
+    }
+
+    @Test
+    void getAllItems_WithLimit_ShouldReturnPageWithNextLink() {
+        client.get().uri("/api/coreProcess/items?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value("Link", containsString("afterId=2"))
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[1].id").isEqualTo(2);
+    }
+
+    @Test
+    void getAllItems_WithCursor_ShouldReturnLastPageWithoutNextLink() {
+        client.get().uri("/api/coreProcess/items?afterId=2&limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("Link")
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data[0].id").isEqualTo(3);
+    }
+
+    @Test
+    void getAllItems_WithName_ShouldReturnMatchingItems() {
+        client.get().uri(uri -> uri.path("/api/coreProcess/items").queryParam("name", "Item 2").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data[0].id").isEqualTo(2);
+    }
+
+    @Test
+    void getAllItems_WithInvalidParameters_ShouldReturnBadRequest() {
+        for (String query : List.of("limit=0", "limit=abc", "name=Item&namePrefix=Item", "namePrefix=Item&afterId=1")) {
+            client.get().uri("/api/coreProcess/items?" + query)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
+    @Test
+    void streamAllItems_ShouldWriteOneItemPerLine() {
+        client.get().uri("/api/coreProcess/items?stream=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Item.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNext(new Item(1L, "Item 1"), new Item(2L, "Item 2"), new Item(3L, "Item 3"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_ShouldOnlyEmitRequestedItems() {
+        // Given a subscriber that requests one item at a time
+        StepVerifier.create(repository.findAll(), 1)
+                // Then nothing beyond the demand is emitted
+                .expectNext(new Item(1L, "Item 1"))
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void getItemById_WhenItemDoesNotExist_ShouldReturnNotFound() {
+        client.get().uri("/api/coreProcess/items/999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getItemById_WithNonNumericId_ShouldReturnBadRequest() {
+        client.get().uri("/api/coreProcess/items/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void createItem_ShouldReturnCreatedItemAndLocation() {
+        client.post().uri("/api/coreProcess/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateItemRequest("New Item"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value("Location", endsWith("/api/coreProcess/items/4"))
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo(4)
+                .jsonPath("$.data.name").isEqualTo("New Item");
+    }
+
+    @Test
+    void createItem_WithEmptyName_ShouldReturnBadRequest() {
+        client.post().uri("/api/coreProcess/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateItemRequest(" "))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void updateItem_ShouldReturnUpdatedItem() {
+        client.patch().uri("/api/coreProcess/items/2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UpdateItemRequest("Updated Item"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo(2)
+                .jsonPath("$.data.name").isEqualTo("Updated Item");
+    }
+
+    @Test
+    void updateItem_WhenItemDoesNotExist_ShouldReturnNotFound() {
+        client.patch().uri("/api/coreProcess/items/999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UpdateItemRequest("Updated Item"))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteItem_ShouldRemoveItemAndThenReturnNotFound() {
+        client.delete().uri("/api/coreProcess/items/1")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.delete().uri("/api/coreProcess/items/1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,89 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.liatrio.exercise.dataService.changes.ItemChangeLog;
+import com.liatrio.exercise.dataService.changes.ItemChangeProperties;
+import com.liatrio.exercise.dataService.model.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemChangeController.class, properties = "dataservice.changes.enabled=true")
+class ItemChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemChangeLog changeLog;
+
+    @TestConfiguration
+    static class ChangeLogConfiguration {
+        @Bean
+        ItemChangeLog itemChangeLog() {
+            return new ItemChangeLog(4);
+        }
+
+        @Bean
+        ItemChangeProperties itemChangeProperties() {
+            return new ItemChangeProperties(true, 4, Duration.ofSeconds(15));
+        }
+    }
+
+    @Test
+    void streamChanges_ShouldReplayChangesAfterLastEventId() throws Exception {
+        // Given
+        long after = changeLog.lastSequence();
+        changeLog.onCreate(new Item(7L, "Created Item"));
+        changeLog.onDelete(7L);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/coreProcess/changes")
+                        .header("Last-Event-ID", changeLog.eventId(after)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        MockHttpServletResponse response = result.getResponse();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!response.getContentAsString().contains("event:deleted") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(response.getContentType()).startsWith("text/event-stream");
+        assertThat(response.getContentAsString())
+                .contains("id:" + changeLog.eventId(after + 1) + "\nevent:created\n")
+                .contains("\"name\":\"Created Item\"")
+                .contains("id:" + changeLog.eventId(after + 2) + "\nevent:deleted\n");
+    }
+
+    @Test
+    void streamChanges_WithLastEventIdOfAnotherRun_ShouldReturnGone() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/coreProcess/changes").header("Last-Event-ID", "0-1"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void streamChanges_WithOverwrittenLastEventId_ShouldReturnGone() throws Exception {
+        // Given more changes than the log holds
+        long after = changeLog.lastSequence();
+        for (long id = 1; id <= 5; id++) {
+            changeLog.onCreate(new Item(id, "Item " + id));
+        }
+
+        // When & Then
+        mockMvc.perform(get("/api/coreProcess/changes").param("lastEventId", changeLog.eventId(after)))
+                .andExpect(status().isGone());
+    }
+}
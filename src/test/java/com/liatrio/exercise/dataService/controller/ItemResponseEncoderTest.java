@@ -0,0 +1,76 @@
+package com.liatrio.exercise.dataService.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.dto.ApiResponse;
+import com.liatrio.exercise.dataService.model.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares against the mapper as the application configures it, which is the one the
+// controller would otherwise write single items with
+@JsonTest
+class ItemResponseEncoderTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void encode_ShouldWriteWhatTheConfiguredMapperWrites() throws Exception {
+        // Given
+        Item item = new Item(42L, "Item 42");
+        ApiResponse<Item> response = ApiResponse.of(item);
+
+        // When
+        byte[] encoded = ItemResponseEncoder.encode(item, response.timestamp());
+
+        // Then
+        assertThat(encoded).isEqualTo(objectMapper.writeValueAsBytes(response));
+        assertThat(ItemResponseEncoder.matches(objectMapper)).isTrue();
+    }
+
+    @Test
+    void matches_WhenTheMapperLeavesOutNulls_ShouldBeFalse() {
+        // Given
+        ObjectMapper nonNull = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        // When/Then
+        assertThat(ItemResponseEncoder.matches(nonNull)).isFalse();
+    }
+
+    @Test
+    void encode_ShouldWriteTheSameBytesAsTheObjectMapper() throws Exception {
+        // Given
+        List<String> names = List.of("Item 1", "", "Quote \" and backslash \\", "Controls \n\t\r\b\f\u0001\u001f",
+                "Accents é ü, CJK 漢字 and emoji 😀");
+
+        for (String name : names) {
+            ApiResponse<Item> response = new ApiResponse<>(new Item(Long.MAX_VALUE, name), 1_700_000_000_000L);
+
+            // When
+            byte[] encoded = ItemResponseEncoder.encode(response.data(), response.timestamp());
+
+            // Then
+            assertThat(encoded).as(name).isEqualTo(objectMapper.writeValueAsBytes(response));
+        }
+    }
+
+    @Test
+    void encode_WithoutName_ShouldWriteTheSameBytesAsTheObjectMapper() throws Exception {
+        for (long id : new long[] {0, -1, Long.MIN_VALUE}) {
+            // Given
+            ApiResponse<Item> response = new ApiResponse<>(new Item(id, null), -5L);
+
+            // When
+            byte[] encoded = ItemResponseEncoder.encode(response.data(), response.timestamp());
+
+            // Then
+            assertThat(encoded).isEqualTo(objectMapper.writeValueAsBytes(response));
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.liatrio.exercise.dataService.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.DataServiceApplication;
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Drives the API at a fixed arrival rate with a mix of reads and writes, and fails when the
+// latency percentiles or the error rate break the configured objectives. Run with
+// ./gradlew loadTest --tests '*CoreProcessLoadTest' and tune it with -Pload.*, e.g.
+// -Pload.rate=2000 -Pload.duration=2h -Pload.mix=get:90,patch:10 -Pload.slo=p99:20ms
+// -Pload.app=dataservice.repository.engine=sharded to soak the sharded engine for hours.
+@Tag("load")
+class CoreProcessLoadTest {
+
+    private static final int SEED_CHUNK_SIZE = 4096;
+
+    private final LoadSettings settings = LoadSettings.fromSystemProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final AtomicLong names = new AtomicLong();
+    private ItemPool pool;
+    private URI baseUrl;
+
+    @Test
+    void api_AtConfiguredArrivalRate_ShouldMeetItsLatencyObjectives() throws Exception {
+        // Given
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataServiceApplication.class)
+                .properties(Stream.concat(Stream.of("server.port=0"), settings.appProperties().stream())
+                        .toArray(String[]::new))
+                .run()) {
+            baseUrl = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            pool = new ItemPool(seed(context.getBean(CoreProcessItemsRepository.class)));
+            OpenLoopLoadGenerator generator =
+                    new OpenLoopLoadGenerator(settings.rate(), settings.mix(), settings.maxInFlight());
+            System.out.printf("Driving %s at %.0f requests/s with %s for %s after a %s warm-up%n",
+                    baseUrl, settings.rate(), settings.mix(), settings.duration(), settings.warmUp());
+
+            generator.run(settings.warmUp(), this::send, new LatencyRecorder(null), settings.warmUp(), interval -> { });
+
+            // When
+            Files.createDirectories(settings.reportDirectory());
+            LatencyRecorder recorder;
+            try (PrintStream logStream = new PrintStream(settings.reportDirectory().resolve("latency.hlog").toFile())) {
+                HistogramLogWriter log = new HistogramLogWriter(logStream);
+                long startTime = System.currentTimeMillis();
+                log.outputLogFormatVersion();
+                log.outputStartTime(startTime);
+                log.setBaseTime(startTime);
+                log.outputLegend();
+                recorder = new LatencyRecorder(log);
+                long start = System.nanoTime();
+                generator.run(settings.duration(), this::send, recorder, settings.reportInterval(),
+                        interval -> System.out.println(intervalLine(System.nanoTime() - start, interval)));
+            }
+
+            // Then
+            report(recorder);
+            assertThat(breaches(recorder)).as("Service level objectives breached").isEmpty();
+        }
+    }
+
+    private long[] seed(CoreProcessItemsRepository repository) {
+        List<Long> ids = new ArrayList<>(settings.items());
+        for (int from = 0; from < settings.items(); from += SEED_CHUNK_SIZE) {
+            List<Item> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            for (int i = from; i < Math.min(from + SEED_CHUNK_SIZE, settings.items()); i++) {
+                chunk.add(new Item(null, "Seed " + i));
+            }
+            repository.saveAll(chunk).forEach(item -> ids.add(item.id()));
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Every request but a create takes a random live item out of the pool while it runs, so
+    // a delete never removes an item that a read or update has picked; reads and updates
+    // return theirs afterwards, and created items join the pool. An empty pool turns every
+    // request into a create.
+    private OpenLoopLoadGenerator.Outcome send(Operation operation) throws Exception {
+        long id = operation == Operation.POST ? 0 : pool.take();
+        if (id == ItemPool.NONE) {
+            operation = Operation.POST;
+        }
+
+        URI item = baseUrl.resolve("/api/coreProcess/items/" + id);
+        boolean succeeded;
+        try {
+            succeeded = switch (operation) {
+                case GET -> send(HttpRequest.newBuilder(item).GET()) == 200;
+                case PATCH -> send(HttpRequest.newBuilder(item)
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(nameJson("Updated")))) == 200;
+                case DELETE -> send(HttpRequest.newBuilder(item).DELETE()) == 200;
+                case POST -> create();
+            };
+        } finally {
+            if (operation == Operation.GET || operation == Operation.PATCH) {
+                pool.add(id);
+            }
+        }
+        return new OpenLoopLoadGenerator.Outcome(operation, succeeded);
+    }
+
+    private boolean create() throws Exception {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(baseUrl.resolve("/api/coreProcess/items"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(nameJson("Created")))
+                        .timeout(Duration.ofSeconds(30))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        pool.add(objectMapper.readTree(response.body()).get("data").get("id").asLong());
+        return true;
+    }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private String nameJson(String prefix) {
+        return "{\"name\":\"" + prefix + " " + names.incrementAndGet() + "\"}";
+    }
+
+    private static String intervalLine(long elapsedNanos, Histogram interval) {
+        long heapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        return String.format("%8ds %9d requests  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  heap %6d MB",
+                TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), interval.getTotalCount(),
+                millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99)),
+                millis(interval.getMaxValue()), heapBytes >> 20);
+    }
+
+    // Prints a summary per operation and writes each one's percentile distribution to an
+    // .hgrm file, which HdrHistogram's plotter reads
+    private void report(LatencyRecorder recorder) throws Exception {
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s %8s%n",
+                "", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorder.total(operation);
+            System.out.println(summaryLine(operation.name(), histogram, recorder.errors(operation)));
+            try (PrintStream out = new PrintStream(settings.reportDirectory()
+                    .resolve(operation.name().toLowerCase(Locale.ROOT) + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println(summaryLine("all", recorder.total(), recorder.errors()));
+        System.out.println("Latency logs written to " + settings.reportDirectory().toAbsolutePath());
+    }
+
+    private String summaryLine(String name, Histogram histogram, long errors) {
+        return String.format("%-8s %10d %10.0f %10.2f %10.2f %10.2f %10.2f %8d", name, histogram.getTotalCount(),
+                histogram.getTotalCount() / (settings.duration().toNanos() / 1e9),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()), errors);
+    }
+
+    private List<String> breaches(LatencyRecorder recorder) {
+        Histogram total = recorder.total();
+        List<String> breaches = new ArrayList<>();
+        for (Map.Entry<Double, Duration> objective : settings.slo().entrySet()) {
+            long micros = total.getValueAtPercentile(objective.getKey());
+            if (micros > TimeUnit.NANOSECONDS.toMicros(objective.getValue().toNanos())) {
+                breaches.add(String.format("p%s of %.2f ms is above %s",
+                        objective.getKey(), millis(micros), objective.getValue()));
+            }
+        }
+        double errorRate = total.getTotalCount() == 0 ? 0 : recorder.errors() / (double) total.getTotalCount();
+        if (errorRate > settings.maxErrorRate()) {
+            breaches.add(String.format("error rate of %.4f is above %s", errorRate, settings.maxErrorRate()));
+        }
+        return breaches;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    // IDs of the items that exist, as far as this run knows
+    private static final class ItemPool {
+        static final long NONE = Long.MIN_VALUE;
+
+        private long[] ids;
+        private int size;
+
+        ItemPool(long[] ids) {
+            this.ids = ids;
+            this.size = ids.length;
+        }
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(16, size * 2));
+            }
+            ids[size++] = id;
+        }
+
+        synchronized long take() {
+            if (size == 0) {
+                return NONE;
+            }
+            int index = ThreadLocalRandom.current().nextInt(size);
+            long id = ids[index];
+            ids[index] = ids[--size];
+            return id;
+        }
+    }
+}
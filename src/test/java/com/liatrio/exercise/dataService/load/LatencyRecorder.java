@@ -0,0 +1,74 @@
+package com.liatrio.exercise.dataService.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies in microseconds and error counts per operation. Request threads record into
+// Recorders without locking; the reporting thread swaps out the interval histograms, logs
+// them and folds them into the totals.
+final class LatencyRecorder {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final HistogramLogWriter log;
+    private final Map<Operation, Histogram> recycled = new EnumMap<>(Operation.class);
+
+    // The log may be null, for runs that are not reported
+    LatencyRecorder(HistogramLogWriter log) {
+        this.log = log;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            totals.put(operation, new Histogram(SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean succeeded) {
+        recorders.get(operation).recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (!succeeded) {
+            errors.get(operation).increment();
+        }
+    }
+
+    // Takes the latencies recorded since the last call, returning them across operations
+    Histogram interval() {
+        Histogram combined = new Histogram(SIGNIFICANT_DIGITS);
+        for (Operation operation : Operation.values()) {
+            Histogram interval = recorders.get(operation).getIntervalHistogram(recycled.get(operation));
+            if (log != null && interval.getTotalCount() > 0) {
+                interval.setTag(operation.name());
+                log.outputIntervalHistogram(interval);
+            }
+            totals.get(operation).add(interval);
+            combined.add(interval);
+            recycled.put(operation, interval);
+        }
+        return combined;
+    }
+
+    Histogram total(Operation operation) {
+        return totals.get(operation);
+    }
+
+    Histogram total() {
+        Histogram combined = new Histogram(SIGNIFICANT_DIGITS);
+        totals.values().forEach(combined::add);
+        return combined;
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+    long errors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+}
@@ -0,0 +1,80 @@
+package com.liatrio.exercise.dataService.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Settings of a load run, read from load.* system properties that the loadTest task passes
+// through from -Pload.*=... on the command line
+record LoadSettings(
+        double rate,
+        Duration warmUp,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        int items,
+        int maxInFlight,
+        Duration reportInterval,
+        Map<Double, Duration> slo,
+        double maxErrorRate,
+        List<String> appProperties,
+        Path reportDirectory) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Double.parseDouble(property("rate", "500")),
+                DurationStyle.detectAndParse(property("warm-up", "10s")),
+                DurationStyle.detectAndParse(property("duration", "60s")),
+                mix(property("mix", "get:80,post:10,patch:8,delete:2")),
+                Integer.parseInt(property("items", "10000")),
+                Integer.parseInt(property("max-in-flight", "2048")),
+                DurationStyle.detectAndParse(property("report-interval", "10s")),
+                slo(property("slo", "p99:50ms,p99.9:200ms")),
+                Double.parseDouble(property("max-error-rate", "0.001")),
+                list(property("app", "")),
+                Path.of(property("report-dir", "build/reports/load")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("load." + name, defaultValue).trim();
+    }
+
+    // Relative weights such as get:80,post:10,patch:8,delete:2
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : list(value)) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed load.mix entry " + entry);
+            }
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("load.mix needs at least one positive weight");
+        }
+        return mix;
+    }
+
+    // Latency ceilings by percentile, such as p99:50ms,p99.9:200ms
+    private static Map<Double, Duration> slo(String value) {
+        Map<Double, Duration> slo = new LinkedHashMap<>();
+        for (String entry : list(value)) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2 || !parts[0].trim().startsWith("p")) {
+                throw new IllegalArgumentException("Malformed load.slo entry " + entry);
+            }
+            slo.put(Double.parseDouble(parts[0].trim().substring(1)), DurationStyle.detectAndParse(parts[1].trim()));
+        }
+        return slo;
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(entry -> !entry.isEmpty()).toList();
+    }
+}
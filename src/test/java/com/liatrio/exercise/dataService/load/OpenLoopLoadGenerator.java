@@ -0,0 +1,97 @@
+package com.liatrio.exercise.dataService.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// Sends requests at a fixed arrival rate, whatever the service's response times, and
+// measures every latency from the time the request was due to be sent rather than the time
+// it was. A stall in the service, or in this generator, then shows up in the latency of
+// every request that should have gone out during it, instead of hiding them the way a
+// client that waits for each response before sending the next does (coordinated omission).
+final class OpenLoopLoadGenerator {
+
+    // Sends one request, returning the operation it actually sent and whether it succeeded
+    interface Target {
+        Outcome send(Operation operation) throws Exception;
+    }
+
+    record Outcome(Operation operation, boolean succeeded) {
+    }
+
+    private final double rate;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int maxInFlight;
+
+    OpenLoopLoadGenerator(double rate, Map<Operation, Integer> mix, int maxInFlight) {
+        this.rate = rate;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    // Returns once every request sent has completed. The reporter is called with the
+    // latencies of each interval, from the generating thread.
+    void run(Duration duration, Target target, LatencyRecorder recorder, Duration reportInterval,
+             Consumer<Histogram> reporter) throws InterruptedException {
+        // Caps the connections a stalled service can make us open; a request waiting for a
+        // slot is still measured from its due time
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long nextReport = start + reportInterval.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long sent = 0; ; sent++) {
+                long due = start + (long) (sent * 1_000_000_000.0 / rate);
+                if (due >= end) {
+                    break;
+                }
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (System.nanoTime() >= nextReport) {
+                    reporter.accept(recorder.interval());
+                    nextReport += reportInterval.toNanos();
+                }
+
+                inFlight.acquire();
+                Operation operation = pick();
+                executor.execute(() -> {
+                    Outcome outcome;
+                    try {
+                        outcome = target.send(operation);
+                    } catch (Exception e) {
+                        outcome = new Outcome(operation, false);
+                    }
+                    recorder.record(outcome.operation(), System.nanoTime() - due, outcome.succeeded());
+                    inFlight.release();
+                });
+            }
+        }
+        reporter.accept(recorder.interval());
+    }
+
+    private Operation pick() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
@@ -0,0 +1,5 @@
+package com.liatrio.exercise.dataService.load;
+
+enum Operation {
+    GET, POST, PATCH, DELETE
+}
@@ -0,0 +1,149 @@
+package com.liatrio.exercise.dataService.load;
+
+import com.liatrio.exercise.dataService.DataServiceApplication;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepositoryDecorator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares the default Tomcat pool (200 platform threads) with virtual threads when every
+// repository call blocks, as it would against a remote store. Run with ./gradlew loadTest.
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final Duration BACKEND_LATENCY = Duration.ofMillis(20);
+    private static final int CONCURRENT_CLIENTS = 800;
+    private static final Duration WARM_UP = Duration.ofSeconds(3);
+    private static final Duration RUN_TIME = Duration.ofSeconds(10);
+
+    @Test
+    void virtualThreads_WithSlowBackend_ShouldSustainMoreThroughput() throws Exception {
+        // When
+        LoadResult platform = runAgainstService(false);
+        LoadResult virtual = runAgainstService(true);
+
+        // Then
+        System.out.printf("%-16s %12s %10s %10s %10s%n", "mode", "requests/s", "p50 ms", "p99 ms", "errors");
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual"));
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+        assertThat(virtual.throughput()).isGreaterThan(platform.throughput());
+    }
+
+    private LoadResult runAgainstService(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataServiceApplication.class, SlowBackendConfiguration.class)
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads)
+                .run()) {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/coreProcess/items/1");
+            drive(uri, WARM_UP);
+            return drive(uri, RUN_TIME);
+        }
+    }
+
+    // Closed loop: every client sends its next request as soon as the previous one completes
+    private LoadResult drive(URI uri, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<ClientResult>> clients = new ArrayList<>(CONCURRENT_CLIENTS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    int errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors++;
+                            }
+                        } catch (IOException e) {
+                            errors++;
+                        }
+                        latencies.add(System.nanoTime() - start);
+                    }
+                    return new ClientResult(latencies, errors);
+                }));
+            }
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        int errors = 0;
+        for (Future<ClientResult> result : clients) {
+            latencies.addAll(result.get().latencies());
+            errors += result.get().errors();
+        }
+        latencies.sort(null);
+        return new LoadResult(
+                latencies.size() / (double) duration.toSeconds(),
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                errors);
+    }
+
+    private static double percentileMillis(List<Long> sortedNanos, double percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private record ClientResult(List<Long> latencies, int errors) {
+    }
+
+    private record LoadResult(double throughput, double p50Millis, double p99Millis, int errors) {
+        String format(String mode) {
+            return String.format("%-16s %12.0f %10.1f %10.1f %10d", mode, throughput, p50Millis, p99Millis, errors);
+        }
+    }
+
+    // Puts a blocking delay in front of every repository call
+    @TestConfiguration
+    static class SlowBackendConfiguration {
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        CoreProcessItemsRepositoryDecorator slowBackend() {
+            return delegate -> (CoreProcessItemsRepository) Proxy.newProxyInstance(
+                    CoreProcessItemsRepository.class.getClassLoader(),
+                    new Class<?>[] {CoreProcessItemsRepository.class},
+                    (proxy, method, args) -> {
+                        Thread.sleep(BACKEND_LATENCY);
+                        try {
+                            return method.invoke(delegate, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.liatrio.exercise.dataService.metrics;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeteredCoreProcessItemsRepositoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MeteredCoreProcessItemsRepository repository =
+            new MeteredCoreProcessItemsRepository(new InMemoryCoreProcessItemsRepository(), registry);
+
+    @Test
+    void operations_ShouldBeTimedPerOperation() {
+        // When
+        repository.findById(1L);
+        repository.findById(2L);
+        repository.save(new Item(null, "New Item"));
+
+        // Then
+        assertThat(timerCount("findById")).isEqualTo(2);
+        assertThat(timerCount("save")).isEqualTo(1);
+        assertThat(timerCount("update")).isZero();
+    }
+
+    @Test
+    void failedOperation_ShouldStillBeTimed() {
+        // When
+        assertThatThrownBy(() -> repository.deleteById(999L)).isInstanceOf(IllegalArgumentException.class);
+
+        // Then
+        assertThat(timerCount("deleteById")).isEqualTo(1);
+    }
+
+    @Test
+    void itemCountGauge_ShouldTrackRepositorySize() {
+        // When
+        repository.save(new Item(null, "New Item"));
+        repository.deleteById(1L);
+        repository.deleteById(2L);
+
+        // Then
+        assertThat(registry.get(MeteredCoreProcessItemsRepository.ITEM_COUNT_GAUGE).gauge().value()).isEqualTo(2);
+    }
+
+    private long timerCount(String operation) {
+        return registry.get(MeteredCoreProcessItemsRepository.OPERATION_TIMER)
+                .tag("operation", operation)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,165 @@
+package com.liatrio.exercise.dataService.pipeline;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ItemChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WritePipelineTest {
+
+    @Test
+    void concurrentWrites_ShouldAllBeAppliedOnce() throws Exception {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        List<Future<List<Item>>> writers = new ArrayList<>();
+
+        // When
+        try (WritePipeline pipeline = new WritePipeline(repository, 1024, 64,
+                WritePipeline.Backpressure.WAIT, Duration.ofSeconds(10), Duration.ofSeconds(10));
+             ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int thread = 0; thread < 16; thread++) {
+                writers.add(executor.submit(() -> {
+                    List<Item> saved = new ArrayList<>();
+                    for (int i = 0; i < 500; i++) {
+                        Item item = pipeline.save(new Item(null, "Concurrent")).get();
+                        saved.add(pipeline.update(new Item(item.id(), "Updated")).get().orElseThrow());
+                    }
+                    return saved;
+                }));
+            }
+
+            // Then
+            List<Item> saved = new ArrayList<>();
+            for (Future<List<Item>> writer : writers) {
+                saved.addAll(writer.get());
+            }
+            assertThat(saved).hasSize(16 * 500).extracting(Item::id).doesNotHaveDuplicates();
+            assertThat(repository.count()).isEqualTo(3 + 16 * 500);
+            assertThat(repository.findByName("Updated", 100_000)).hasSize(16 * 500);
+        }
+    }
+
+    @Test
+    void update_WhenItemDoesNotExist_ShouldCompleteEmpty() throws Exception {
+        // Given
+        try (WritePipeline pipeline = new WritePipeline(new InMemoryCoreProcessItemsRepository(), 16, 16,
+                WritePipeline.Backpressure.REJECT, Duration.ZERO, Duration.ofSeconds(10))) {
+            // When
+            Optional<Item> missing = pipeline.update(new Item(99L, "Missing")).get();
+            Optional<Item> existing = pipeline.update(new Item(1L, "Item 1 Updated")).get();
+
+            // Then
+            assertThat(missing).isEmpty();
+            assertThat(existing).contains(new Item(1L, "Item 1 Updated"));
+        }
+    }
+
+    @Test
+    void save_WhenQueueIsFull_ShouldRejectWithoutApplying() throws Exception {
+        // Given a writer stuck applying the only queued write
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository() {
+            @Override
+            public List<Item> saveAll(List<Item> items) {
+                applying.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.saveAll(items);
+            }
+        };
+
+        try (WritePipeline pipeline = new WritePipeline(repository, 1, 16,
+                WritePipeline.Backpressure.REJECT, Duration.ZERO, Duration.ofSeconds(10))) {
+            CompletableFuture<Item> first = pipeline.save(new Item(null, "First"));
+            assertThat(applying.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            CompletableFuture<Item> second = pipeline.save(new Item(null, "Second"));
+            release.countDown();
+
+            // Then
+            assertThatThrownBy(second::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(first.get().name()).isEqualTo("First");
+            assertThat(repository.findByName("Second", 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void save_WhenOneWriteOfABatchFails_ShouldFailOnlyThatWrite() throws Exception {
+        // Given a store refusing one item, and a writer held up until the next batch is queued
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository() {
+            @Override
+            public List<Item> saveAll(List<Item> items) {
+                if (items.get(0).name().equals("Blocker")) {
+                    applying.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.saveAll(items);
+            }
+        };
+        repository.setChangeListener(new ItemChangeListener() {
+            @Override
+            public void onSave(Item item) {
+                if (item.name().equals("Bad")) {
+                    throw new IllegalStateException("Refused");
+                }
+            }
+
+            @Override
+            public void onDelete(Long id) {
+            }
+        });
+
+        try (WritePipeline pipeline = new WritePipeline(repository, 16, 16,
+                WritePipeline.Backpressure.REJECT, Duration.ZERO, Duration.ofSeconds(10))) {
+            CompletableFuture<Item> blocker = pipeline.save(new Item(null, "Blocker"));
+            assertThat(applying.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            CompletableFuture<Item> before = pipeline.save(new Item(null, "Before"));
+            CompletableFuture<Item> bad = pipeline.save(new Item(null, "Bad"));
+            CompletableFuture<Item> after = pipeline.save(new Item(null, "After"));
+            release.countDown();
+
+            // Then
+            assertThat(blocker.get().name()).isEqualTo("Blocker");
+            assertThat(before.get().name()).isEqualTo("Before");
+            assertThat(after.get().name()).isEqualTo("After");
+            assertThatThrownBy(bad::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("Refused");
+            assertThat(repository.findByName("Bad", 10)).isEmpty();
+            assertThat(repository.findByName("Before", 10)).hasSize(1);
+            assertThat(repository.findByName("After", 10)).hasSize(1);
+        }
+    }
+}
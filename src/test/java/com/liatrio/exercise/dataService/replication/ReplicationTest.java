@@ -0,0 +1,128 @@
+package com.liatrio.exercise.dataService.replication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.DataServiceApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A leader and a follower running side by side in this JVM, on random local ports
+class ReplicationTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+    private static ConfigurableApplicationContext leader;
+    private static ConfigurableApplicationContext follower;
+    private static URI leaderUrl;
+    private static URI followerUrl;
+
+    @BeforeAll
+    static void startInstances() {
+        leader = new SpringApplicationBuilder(DataServiceApplication.class)
+                .properties("server.port=0", "dataservice.replication.role=leader")
+                .run();
+        leaderUrl = URI.create("http://localhost:" + leader.getEnvironment().getProperty("local.server.port"));
+
+        follower = new SpringApplicationBuilder(DataServiceApplication.class)
+                .properties("server.port=0",
+                        "dataservice.replication.role=follower",
+                        "dataservice.replication.leader-url=" + leaderUrl,
+                        "dataservice.replication.poll-wait=1s",
+                        "dataservice.replication.retry-interval=100ms")
+                .run();
+        followerUrl = URI.create("http://localhost:" + follower.getEnvironment().getProperty("local.server.port"));
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        follower.close();
+        leader.close();
+    }
+
+    @Test
+    void follower_WithLeaderPosition_ShouldReadItsOwnWrites() throws Exception {
+        // Given
+        HttpResponse<String> created = send(HttpRequest.newBuilder(leaderUrl.resolve("/api/coreProcess/items"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Replicated\"}")));
+        long id = objectMapper.readTree(created.body()).get("data").get("id").asLong();
+        String position = created.headers().firstValue(ChangeBatch.POSITION_HEADER).orElseThrow();
+
+        // When
+        HttpResponse<String> read = send(HttpRequest.newBuilder(followerUrl.resolve("/api/coreProcess/items/" + id))
+                .header(ChangeBatch.POSITION_HEADER, position));
+
+        // Then
+        assertThat(read.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(read.body()).get("data").get("name").asText()).isEqualTo("Replicated");
+        assertThat(read.headers().firstValue(ChangeBatch.POSITION_HEADER)).isPresent();
+    }
+
+    @Test
+    void follower_WithLeaderPositionOfADelete_ShouldNoLongerFindTheItem() throws Exception {
+        // Given
+        HttpResponse<String> created = send(HttpRequest.newBuilder(leaderUrl.resolve("/api/coreProcess/items"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Deleted\"}")));
+        long id = objectMapper.readTree(created.body()).get("data").get("id").asLong();
+        HttpResponse<String> deleted = send(HttpRequest.newBuilder(leaderUrl.resolve("/api/coreProcess/items/" + id))
+                .DELETE());
+        String position = deleted.headers().firstValue(ChangeBatch.POSITION_HEADER).orElseThrow();
+
+        // When
+        HttpResponse<String> read = send(HttpRequest.newBuilder(followerUrl.resolve("/api/coreProcess/items/" + id))
+                .header(ChangeBatch.POSITION_HEADER, position));
+
+        // Then
+        assertThat(deleted.statusCode()).isEqualTo(200);
+        assertThat(read.statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void follower_ShouldConvergeOnTheLeadersItems() throws Exception {
+        // Given
+        send(HttpRequest.newBuilder(leaderUrl.resolve("/api/coreProcess/items/2")).DELETE());
+        send(HttpRequest.newBuilder(leaderUrl.resolve("/api/coreProcess/items/3"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"name\":\"Item 3 Updated\"}")));
+        HttpResponse<String> onLeader = send(HttpRequest.newBuilder(leaderUrl.resolve("/api/coreProcess/items")));
+
+        // When
+        HttpResponse<String> onFollower = send(HttpRequest.newBuilder(followerUrl.resolve("/api/coreProcess/items"))
+                .header(ChangeBatch.POSITION_HEADER, onLeader.headers().firstValue(ChangeBatch.POSITION_HEADER).orElseThrow()));
+
+        // Then
+        JsonNode leaderItems = objectMapper.readTree(onLeader.body()).get("data");
+        JsonNode followerItems = objectMapper.readTree(onFollower.body()).get("data");
+        assertThat(followerItems).isEqualTo(leaderItems);
+        assertThat(followerItems.findValuesAsText("name")).contains("Item 3 Updated").doesNotContain("Item 2");
+    }
+
+    @Test
+    void follower_ShouldRedirectWritesToTheLeader() throws Exception {
+        // When
+        HttpResponse<String> response = send(HttpRequest.newBuilder(followerUrl.resolve("/api/coreProcess/items"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Misdirected\"}")));
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(307);
+        assertThat(response.headers().firstValue("Location")).contains(leaderUrl + "/api/coreProcess/items");
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
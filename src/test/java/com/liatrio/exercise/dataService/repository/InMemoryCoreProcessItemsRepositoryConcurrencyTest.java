@@ -0,0 +1,355 @@
+package com.liatrio.exercise.dataService.repository;
+
+import com.liatrio.exercise.dataService.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryCoreProcessItemsRepositoryConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ITEMS_PER_THREAD = 2_000;
+
+    @Test
+    void findAll_ShouldKeepInsertionOrderAcrossUpdates() {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        Item created = repository.save(new Item(null, "Item 4"));
+
+        // When
+        repository.update(new Item(2L, "Item 2 Updated"));
+        repository.deleteById(1L);
+
+        // Then
+        assertThat(repository.findAll()).containsExactly(
+                new Item(2L, "Item 2 Updated"),
+                new Item(3L, "Item 3"),
+                created
+        );
+    }
+
+    @Test
+    void save_WithExplicitId_ShouldNotCollideWithGeneratedIds() {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        repository.save(new Item(10L, "Explicit"));
+
+        // When
+        Item generated = repository.save(new Item(null, "Generated"));
+
+        // Then
+        assertThat(generated.id()).isEqualTo(11L);
+        assertThat(repository.findById(10L)).contains(new Item(10L, "Explicit"));
+    }
+
+    @Test
+    void findPage_AfterDeletedCursor_ShouldContinueInInsertionOrder() {
+        // Given IDs that do not ascend in insertion order, and a page that ended on the first
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        repository.save(new Item(100L, "Item 100"));
+        repository.save(new Item(50L, "Item 50"));
+        repository.save(new Item(75L, "Item 75"));
+
+        // When the cursor item is deleted, and enough others after it to compact the storage
+        repository.deleteById(100L);
+        List<Item> first = repository.findPage(100L, 2);
+        for (int i = 0; i < 3_000; i++) {
+            repository.deleteById(repository.save(new Item(null, "Churn " + i)).id());
+        }
+        List<Item> second = repository.findPage(100L, 2);
+
+        // Then
+        assertThat(first).containsExactly(new Item(50L, "Item 50"), new Item(75L, "Item 75"));
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void findPage_UnderConcurrentCompaction_ShouldContinueInInsertionOrder() throws Exception {
+        // Given IDs that descend in insertion order, so resuming by ID would skip or repeat items
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        List<Long> kept = new ArrayList<>(List.of(1L, 2L, 3L));
+        for (long id = 1_000_000; id > 998_000; id--) {
+            repository.save(new Item(id, "Kept"));
+            kept.add(id);
+        }
+
+        // When pages are walked while churn keeps compacting the storage
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            CountDownLatch done = new CountDownLatch(1);
+            Future<?> churn = executor.submit(() -> {
+                while (done.getCount() > 0) {
+                    repository.deleteById(repository.save(new Item(null, "Churn")).id());
+                }
+            });
+
+            for (int walk = 0; walk < 50; walk++) {
+                List<Long> seen = new ArrayList<>();
+                Long afterId = null;
+                List<Item> page;
+                do {
+                    page = repository.findPage(afterId, 50);
+                    for (Item item : page) {
+                        if (item.name().startsWith("Item") || item.name().equals("Kept")) {
+                            seen.add(item.id());
+                        }
+                    }
+                    afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).id();
+                } while (page.size() == 50);
+
+                // Then every kept item is seen once, in insertion order
+                assertThat(seen).isEqualTo(kept);
+            }
+            done.countDown();
+            churn.get();
+        }
+    }
+
+    @Test
+    void updateIfVersion_UnderContention_ShouldNeverLoseAnUpdate() throws Exception {
+        // Given every thread repeatedly incrementing the counter held in item 1's name
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        repository.update(new Item(1L, "0"));
+        int incrementsPerThread = 500;
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                executor.submit(() -> {
+                    for (int done = 0; done < incrementsPerThread; ) {
+                        long version = repository.versionOf(1L).orElseThrow();
+                        int counter = Integer.parseInt(repository.findById(1L).orElseThrow().name());
+                        try {
+                            repository.updateIfVersion(new Item(1L, String.valueOf(counter + 1)), version);
+                            done++;
+                        } catch (ItemVersionConflictException e) {
+                            // Lost the race, read again
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        // Then
+        assertThat(repository.findById(1L)).contains(new Item(1L, String.valueOf(THREADS * incrementsPerThread)));
+    }
+
+    @Test
+    void allOperations_UnderParallelLoad_ShouldStayConsistent() throws Exception {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Long> survivors = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> deleted = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        List<Future<?>> writers = new ArrayList<>();
+
+        // When - every writer creates, reads, updates and deletes its own items while
+        // readers continuously list the whole repository
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            writers.add(executor.submit(() -> {
+                await(start);
+                for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                    Item saved = repository.save(new Item(null, "t" + thread + "-" + i));
+                    if (repository.findById(saved.id()).isEmpty()) {
+                        failures.add("Missing item " + saved.id() + " right after save");
+                    }
+
+                    Item updated = repository.update(new Item(saved.id(), saved.name() + "-updated"));
+                    if (!repository.findById(saved.id()).map(updated::equals).orElse(false)) {
+                        failures.add("Lost update for item " + saved.id());
+                    }
+
+                    if (i % 2 == 0) {
+                        repository.deleteById(saved.id());
+                        deleted.add(saved.id());
+                        if (repository.findById(saved.id()).isPresent()) {
+                            failures.add("Item " + saved.id() + " still present after delete");
+                        }
+                    } else {
+                        survivors.add(saved.id());
+                    }
+                }
+            }));
+        }
+
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(executor.submit(() -> {
+                await(start);
+                while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+                    Set<Long> seen = new HashSet<>();
+                    for (Item item : repository.findAll()) {
+                        if (item == null || !seen.add(item.id())) {
+                            failures.add("Corrupt listing containing " + item);
+                        }
+                    }
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        for (Future<?> reader : readers) {
+            reader.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(failures).isEmpty();
+
+        List<Item> remaining = repository.findAll();
+        assertThat(remaining).hasSize(3 + survivors.size());
+        assertThat(remaining).extracting(Item::id).doesNotHaveDuplicates()
+                .containsAll(survivors);
+        assertThat(remaining).filteredOn(item -> item.id() > 3)
+                .allSatisfy(item -> assertThat(item.name()).endsWith("-updated"));
+
+        Long deletedId = deleted.peek();
+        assertThatThrownBy(() -> repository.deleteById(deletedId))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.update(new Item(deletedId, "Gone")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void nameIndexes_UnderConcurrentRenames_ShouldOnlyReturnCurrentMatches() throws Exception {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        List<Item> created = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            created.add(repository.save(new Item(null, "name-" + (i % 10))));
+        }
+
+        // When writers keep renaming items while readers search
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS / 2; t++) {
+                int offset = t;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                        Item item = created.get((i * 7 + offset) % created.size());
+                        repository.update(new Item(item.id(), "name-" + (i + offset) % 10));
+                    }
+                    return null;
+                }));
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                        String name = "name-" + i % 10;
+                        assertThat(repository.findByName(name, 1_000)).allMatch(item -> item.name().equals(name));
+                        assertThat(repository.findByNamePrefix(name, 1_000)).allMatch(item -> item.name().startsWith(name));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        // Then every item is found under its final name exactly once
+        for (Item item : repository.findAll()) {
+            assertThat(repository.findByName(item.name(), 2_000)).containsOnlyOnce(item);
+        }
+        assertThat(repository.findByNamePrefix("name-", 2_000)).hasSize(created.size());
+    }
+
+    @Test
+    void findAll_UnderConcurrentUpdates_ShouldReturnPointInTimeSnapshots() throws Exception {
+        // Given a writer that always renames item 1 before item 3
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        repository.updateAll(List.of(new Item(1L, "0"), new Item(3L, "0")));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 1; i <= 20_000; i++) {
+                    repository.update(new Item(1L, String.valueOf(i)));
+                    repository.update(new Item(3L, String.valueOf(i)));
+                }
+            });
+
+            // When readers keep listing while the writer runs
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!writer.isDone()) {
+                        List<Item> items = repository.findAll();
+                        int first = Integer.parseInt(items.get(0).name());
+                        int third = Integer.parseInt(items.get(2).name());
+
+                        // Then a listing never shows item 3 ahead of item 1
+                        assertThat(first - third).isBetween(0, 1);
+                    }
+                    return null;
+                }));
+            }
+            writer.get(60, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    void streamAll_ShouldNotSeeWritesMadeAfterItStarted() {
+        // Given enough items and deletes to compact the storage while a stream is open
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        List<Item> created = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            created.add(repository.save(new Item(null, "Item " + (i + 4))));
+        }
+        List<Item> before = repository.findAll();
+
+        try (Stream<Item> stream = repository.streamAll()) {
+            Iterator<Item> items = stream.iterator();
+            Item first = items.next();
+
+            // When
+            for (Item item : created.subList(0, 2_500)) {
+                repository.deleteById(item.id());
+            }
+            repository.update(new Item(2L, "Item 2 Updated"));
+            Item added = repository.save(new Item(null, "Added"));
+
+            // Then the stream still walks the items as they were when it started
+            List<Item> streamed = new ArrayList<>(List.of(first));
+            items.forEachRemaining(streamed::add);
+            assertThat(streamed).containsExactlyElementsOf(before);
+
+            // And later reads see the compacted items in insertion order
+            List<Item> after = repository.findAll();
+            assertThat(after).hasSize(3 + 500 + 1).endsWith(added);
+            assertThat(after.get(1)).isEqualTo(new Item(2L, "Item 2 Updated"));
+            assertThat(repository.findPage(created.get(2_500).id(), 2))
+                    .containsExactly(created.get(2_501), created.get(2_502));
+            assertThat(repository.findPage(created.get(10).id(), 1)).containsExactly(created.get(2_500));
+        }
+    }
+}
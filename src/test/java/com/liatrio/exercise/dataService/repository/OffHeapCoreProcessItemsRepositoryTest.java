@@ -0,0 +1,148 @@
+package com.liatrio.exercise.dataService.repository;
+
+import com.liatrio.exercise.dataService.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapCoreProcessItemsRepositoryTest {
+
+    @Test
+    void operations_ShouldBehaveLikeInMemoryRepository() {
+        // Given
+        OffHeapCoreProcessItemsRepository repository = new OffHeapCoreProcessItemsRepository();
+        Item created = repository.save(new Item(null, "Ünïcödé Item ✓"));
+
+        // When
+        repository.update(new Item(2L, "Item 2 Updated"));
+        repository.deleteById(1L);
+
+        // Then
+        assertThat(created.id()).isEqualTo(4L);
+        assertThat(repository.findAll()).containsExactly(
+                new Item(2L, "Item 2 Updated"),
+                new Item(3L, "Item 3"),
+                new Item(4L, "Ünïcödé Item ✓")
+        );
+        assertThat(repository.findById(1L)).isEmpty();
+        assertThat(repository.findPage(2L, 1)).containsExactly(new Item(3L, "Item 3"));
+        assertThat(repository.findPage(1L, 10)).extracting(Item::id).containsExactly(2L, 3L, 4L);
+        assertThatThrownBy(() -> repository.deleteById(1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.update(new Item(1L, "Gone"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findPage_AfterDeletedCursor_ShouldContinueInInsertionOrder() {
+        // Given IDs that do not ascend in insertion order, and a page that ended on the first
+        OffHeapCoreProcessItemsRepository repository = new OffHeapCoreProcessItemsRepository();
+        repository.save(new Item(100L, "Item 100"));
+        repository.save(new Item(50L, "Item 50"));
+        repository.save(new Item(75L, "Item 75"));
+
+        // When the cursor item is deleted, and enough others after it to compact the storage
+        repository.deleteById(100L);
+        List<Item> first = repository.findPage(100L, 2);
+        for (int i = 0; i < 3_000; i++) {
+            repository.deleteById(repository.save(new Item(null, "Churn " + i)).id());
+        }
+        List<Item> second = repository.findPage(100L, 2);
+
+        // Then
+        assertThat(first).containsExactly(new Item(50L, "Item 50"), new Item(75L, "Item 75"));
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void compaction_ShouldPreserveLiveItemsAndOrder() {
+        // Given
+        OffHeapCoreProcessItemsRepository repository = new OffHeapCoreProcessItemsRepository();
+        List<Item> expected = new ArrayList<>(repository.findAll());
+        String longName = "x".repeat(1000);
+
+        // When - churn enough names and slots to trigger compaction several times
+        for (int i = 0; i < 20_000; i++) {
+            Item item = repository.save(new Item(null, longName + i));
+            if (i % 3 == 0) {
+                expected.add(repository.update(new Item(item.id(), "kept " + i)));
+            } else {
+                repository.deleteById(item.id());
+            }
+        }
+
+        // Then
+        assertThat(repository.findAll()).containsExactlyElementsOf(expected);
+        try (Stream<Item> items = repository.streamAll()) {
+            assertThat(items).containsExactlyElementsOf(expected);
+        }
+        assertThat(repository.offHeapBytes()).isLessThan(8L * 1024 * 1024);
+    }
+
+    @Test
+    void versions_ShouldAdvanceOnEveryMutationAndSurviveCompaction() {
+        // Given
+        OffHeapCoreProcessItemsRepository repository = new OffHeapCoreProcessItemsRepository();
+        long initial = repository.version();
+
+        // When
+        long updated = repository.updateIfVersion(new Item(2L, "Item 2 Updated"), repository.versionOf(2L).getAsLong());
+        for (int i = 0; i < 5_000; i++) {
+            repository.deleteById(repository.save(new Item(null, "Churn " + i)).id());
+        }
+
+        // Then
+        assertThat(updated).isGreaterThan(initial);
+        assertThat(repository.versionOf(2L)).hasValue(updated);
+        assertThat(repository.versionOf(4L)).isEmpty();
+        assertThat(repository.version()).isEqualTo(updated + 10_000);
+        assertThatThrownBy(() -> repository.updateIfVersion(new Item(3L, "Stale"), updated))
+                .isInstanceOf(ItemVersionConflictException.class);
+    }
+
+    @Test
+    void nameIndexes_ShouldFollowRenamesDeletesAndCompaction() {
+        // Given
+        OffHeapCoreProcessItemsRepository repository = new OffHeapCoreProcessItemsRepository();
+        Item widget = repository.save(new Item(null, "Widget"));
+        Item wide = repository.save(new Item(null, "Wide"));
+        Item renamed = repository.save(new Item(null, "Gadget"));
+
+        // When
+        repository.update(new Item(renamed.id(), "Widget"));
+        repository.deleteById(wide.id());
+        for (int i = 0; i < 5_000; i++) {
+            repository.deleteById(repository.save(new Item(null, "Churn " + i)).id());
+        }
+
+        // Then
+        assertThat(repository.findByName("Widget", 10)).containsExactly(widget, new Item(renamed.id(), "Widget"));
+        assertThat(repository.findByName("Widget", 1)).containsExactly(widget);
+        assertThat(repository.findByName("Gadget", 10)).isEmpty();
+        assertThat(repository.findByNamePrefix("Wi", 10)).extracting(Item::name).containsExactly("Widget", "Widget");
+        assertThat(repository.findByNamePrefix("Item", 10)).extracting(Item::id).containsExactly(1L, 2L, 3L);
+        assertThat(repository.findByNamePrefix("Churn", 10)).isEmpty();
+    }
+
+    @Test
+    void findByNamePrefix_ShouldOrderManyNamesByName() {
+        // Given names saved in descending order, more than fit in one run of the index
+        OffHeapCoreProcessItemsRepository repository = new OffHeapCoreProcessItemsRepository();
+        for (int i = 2_999; i >= 0; i--) {
+            repository.save(new Item(null, String.format("Name %04d", i)));
+        }
+
+        // When
+        List<Item> found = repository.findByNamePrefix("Name 1", 1000);
+
+        // Then
+        assertThat(found).hasSize(1000);
+        assertThat(found.get(0).name()).isEqualTo("Name 1000");
+        assertThat(found.get(999).name()).isEqualTo("Name 1999");
+        assertThat(found).extracting(Item::name).isSorted();
+        assertThat(repository.findByName("Name 2500", 10)).extracting(Item::name).containsExactly("Name 2500");
+    }
+}
@@ -0,0 +1,125 @@
+package com.liatrio.exercise.dataService.repository;
+
+import com.liatrio.exercise.dataService.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedCoreProcessItemsRepositoryTest {
+
+    @Test
+    void operations_ShouldBehaveLikeInMemoryRepository() {
+        // Given
+        ShardedCoreProcessItemsRepository repository = new ShardedCoreProcessItemsRepository(4);
+        Item created = repository.save(new Item(null, "New Item"));
+
+        // When
+        repository.update(new Item(2L, "Item 2 Updated"));
+        repository.deleteById(1L);
+
+        // Then
+        assertThat(created.id()).isEqualTo(4L);
+        assertThat(repository.findAll()).containsExactly(
+                new Item(2L, "Item 2 Updated"),
+                new Item(3L, "Item 3"),
+                new Item(4L, "New Item")
+        );
+        assertThat(repository.count()).isEqualTo(3);
+        assertThat(repository.findPage(2L, 1)).containsExactly(new Item(3L, "Item 3"));
+        assertThat(repository.findByNamePrefix("Item", 10)).extracting(Item::id).containsExactly(2L, 3L);
+        assertThatThrownBy(() -> repository.deleteById(1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.update(new Item(1L, "Gone"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void queriesAcrossShards_ShouldMergeInIdOrder() {
+        // Given items spread over every shard, some with explicit IDs out of order
+        ShardedCoreProcessItemsRepository repository = new ShardedCoreProcessItemsRepository(8);
+        repository.saveAll(Stream.generate(() -> new Item(null, "Generated")).limit(1000).toList());
+        repository.saveAll(List.of(new Item(5000L, "Explicit"), new Item(2000L, "Explicit")));
+        repository.deleteAllById(LongStream.rangeClosed(1, 1003).filter(id -> id % 3 == 0).boxed().toList());
+
+        // When
+        List<Item> all = repository.findAll();
+        List<Item> paged = new ArrayList<>();
+        Long afterId = null;
+        List<Item> page;
+        do {
+            page = repository.findPage(afterId, 64);
+            paged.addAll(page);
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).id();
+        } while (page.size() == 64);
+
+        // Then
+        assertThat(all).hasSize(1003 - 334 + 2).isSortedAccordingTo((a, b) -> Long.compare(a.id(), b.id()));
+        assertThat(paged).containsExactlyElementsOf(all);
+        try (Stream<Item> items = repository.streamAll()) {
+            assertThat(items).containsExactlyElementsOf(all);
+        }
+        assertThat(repository.findByName("Explicit", 10)).extracting(Item::id).containsExactly(2000L, 5000L);
+        assertThat(repository.save(new Item(null, "Next")).id()).isEqualTo(5001L);
+    }
+
+    @Test
+    void itemVersions_ShouldAdvanceOnEveryWriteAndDifferAcrossShards() {
+        // Given
+        ShardedCoreProcessItemsRepository repository = new ShardedCoreProcessItemsRepository(4);
+        List<Long> versions = new ArrayList<>();
+
+        // When items across the shards are written
+        for (long id = 1; id <= 3; id++) {
+            long before = repository.itemVersion(id);
+            repository.update(new Item(id, "Updated " + id));
+            assertThat(repository.itemVersion(id)).isGreaterThan(before);
+            versions.add(repository.itemVersion(id));
+        }
+        for (int i = 0; i < 8; i++) {
+            versions.add(repository.versionOf(repository.save(new Item(null, "New")).id()).getAsLong());
+        }
+
+        // Then no two writes share a version
+        assertThat(versions).doesNotHaveDuplicates();
+        assertThatThrownBy(() -> repository.updateIfVersion(new Item(1L, "Stale"), versions.get(1)))
+                .isInstanceOf(ItemVersionConflictException.class);
+    }
+
+    @Test
+    void concurrentWriters_ShouldNotLoseOrDuplicateItems() throws Exception {
+        // Given
+        ShardedCoreProcessItemsRepository repository = new ShardedCoreProcessItemsRepository(16);
+        long versionBefore = repository.version();
+
+        // When
+        List<Future<?>> writers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int thread = 0; thread < 16; thread++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        Item item = repository.save(new Item(null, "Concurrent"));
+                        repository.update(new Item(item.id(), "Updated"));
+                        if (i % 2 == 0) {
+                            repository.deleteById(item.id());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        }
+
+        // Then
+        assertThat(repository.count()).isEqualTo(3 + 16 * 500);
+        assertThat(repository.findAll()).hasSize(3 + 16 * 500).doesNotHaveDuplicates();
+        assertThat(repository.version()).isEqualTo(versionBefore + 16 * 2500);
+    }
+}
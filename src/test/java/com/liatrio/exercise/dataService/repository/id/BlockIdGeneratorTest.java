@@ -0,0 +1,68 @@
+package com.liatrio.exercise.dataService.repository.id;
+
+import com.liatrio.exercise.dataService.repository.persistence.IdReservationFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockIdGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void nextId_FromConcurrentThreads_ShouldNeverRepeat() throws Exception {
+        // Given
+        BlockIdGenerator generator = new BlockIdGenerator(3, 16, IdReservations.NONE);
+
+        // When
+        List<Future<List<Long>>> drawers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int thread = 0; thread < 16; thread++) {
+                drawers.add(executor.submit(() -> {
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        // Then
+        Set<Long> unique = new HashSet<>();
+        for (Future<List<Long>> drawer : drawers) {
+            for (long id : drawer.get()) {
+                assertThat(id).isGreaterThan(3);
+                assertThat(unique.add(id)).isTrue();
+            }
+        }
+        assertThat(generator.lastAssignedId()).isGreaterThanOrEqualTo(3 + 16 * 10_000);
+    }
+
+    @Test
+    void nextId_AfterRestart_ShouldResumePastEveryLeasedBlock() throws Exception {
+        // Given a run that leased blocks, only some of whose IDs were handed out
+        BlockIdGenerator firstRun = new BlockIdGenerator(3, 100, IdReservationFile.open(directory));
+        for (int i = 0; i < 10; i++) {
+            firstRun.nextId();
+        }
+        long leasedBeforeRestart = firstRun.lastAssignedId();
+
+        // When the next run starts without knowing which IDs were used
+        BlockIdGenerator secondRun = new BlockIdGenerator(3, 100, IdReservationFile.open(directory));
+
+        // Then
+        assertThat(secondRun.nextId()).isGreaterThan(leasedBeforeRestart);
+    }
+}
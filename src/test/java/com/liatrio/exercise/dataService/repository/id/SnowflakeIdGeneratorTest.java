@@ -0,0 +1,75 @@
+package com.liatrio.exercise.dataService.repository.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + Duration.ofDays(400).toMillis();
+
+    @Test
+    void nextId_ShouldEncodeTimeNodeAndSequence() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, () -> NOW, IdReservations.NONE);
+
+        // When
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        // Then
+        assertThat(first >>> 22).isEqualTo(NOW - SnowflakeIdGenerator.EPOCH_MILLIS);
+        assertThat((first >>> 12) & SnowflakeIdGenerator.MAX_NODE).isEqualTo(5);
+        assertThat(first & 0xFFF).isZero();
+        assertThat(second).isEqualTo(first + 1);
+    }
+
+    @Test
+    void nextId_WhenSequenceRunsOutOrClockStepsBack_ShouldKeepAscending() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get, IdReservations.NONE);
+
+        // When
+        long previous = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.addAndGet(-60_000);
+            }
+            long id = generator.nextId();
+
+            // Then
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void nextId_AfterRestartWithClockBehind_ShouldNotReissueIds() {
+        // Given a run whose reservations survive it
+        IdReservations reservations = new IdReservations() {
+            private long ceiling;
+
+            @Override
+            public long recovered() {
+                return ceiling;
+            }
+
+            @Override
+            public void reserve(long ceiling) {
+                this.ceiling = ceiling;
+            }
+        };
+        SnowflakeIdGenerator firstRun = new SnowflakeIdGenerator(1, () -> NOW, reservations);
+        long lastBeforeRestart = firstRun.nextId();
+
+        // When the next run starts with a clock an hour behind
+        SnowflakeIdGenerator secondRun = new SnowflakeIdGenerator(1, () -> NOW - 3_600_000, reservations);
+
+        // Then
+        assertThat(secondRun.nextId()).isGreaterThan(lastBeforeRestart);
+    }
+}
@@ -0,0 +1,117 @@
+package com.liatrio.exercise.dataService.repository.persistence;
+
+import com.liatrio.exercise.dataService.model.Item;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.ItemChangeListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_AfterRestart_ShouldRecoverItemsFromLogTail() throws Exception {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        try (ItemJournal journal = ItemJournal.open(repository, properties())) {
+            Item created = repository.save(new Item(null, "Journaled Item"));
+            repository.update(new Item(created.id(), "Journaled Item Updated"));
+            repository.deleteById(1L);
+        }
+
+        // When
+        InMemoryCoreProcessItemsRepository recovered = new InMemoryCoreProcessItemsRepository();
+        try (ItemJournal journal = ItemJournal.open(recovered, properties())) {
+            // Then
+            assertThat(recovered.findAll()).containsExactly(
+                    new Item(2L, "Item 2"),
+                    new Item(3L, "Item 3"),
+                    new Item(4L, "Journaled Item Updated")
+            );
+        }
+    }
+
+    @Test
+    void open_AfterRestart_ShouldNotReuseIdsOfDeletedItems() throws Exception {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        try (ItemJournal journal = ItemJournal.open(repository, properties())) {
+            Item created = repository.save(new Item(null, "Short Lived"));
+            journal.snapshot();
+            repository.deleteById(created.id());
+            journal.snapshot();
+        }
+
+        // When
+        InMemoryCoreProcessItemsRepository recovered = new InMemoryCoreProcessItemsRepository();
+        try (ItemJournal journal = ItemJournal.open(recovered, properties())) {
+            Item next = recovered.save(new Item(null, "Next"));
+
+            // Then
+            assertThat(next.id()).isEqualTo(5L);
+        }
+    }
+
+    @Test
+    void open_WithTornLogTail_ShouldRecoverIntactRecords() throws Exception {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        try (ItemJournal journal = ItemJournal.open(repository, properties())) {
+            repository.save(new Item(null, "Before Crash"));
+        }
+        List<Long> segments = WriteAheadLog.segments(directory);
+        Path lastSegment = WriteAheadLog.segmentFile(directory, segments.get(segments.size() - 1));
+        Files.write(lastSegment, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        InMemoryCoreProcessItemsRepository recovered = new InMemoryCoreProcessItemsRepository();
+        try (ItemJournal journal = ItemJournal.open(recovered, properties())) {
+            // Then
+            assertThat(recovered.findAll()).extracting(Item::name)
+                    .containsExactly("Item 1", "Item 2", "Item 3", "Before Crash");
+        }
+    }
+
+    @Test
+    void save_WithSync_ShouldReturnOnceTheRecordIsOnDisk() throws Exception {
+        // Given
+        InMemoryCoreProcessItemsRepository repository = new InMemoryCoreProcessItemsRepository();
+        PersistenceProperties properties =
+                new PersistenceProperties(true, directory.toString(), 16, Duration.ofMillis(200), true, Duration.ofHours(1));
+        try (ItemJournal journal = ItemJournal.open(repository, properties)) {
+            // When
+            repository.save(new Item(null, "Acknowledged"));
+
+            // Then
+            List<Long> segments = WriteAheadLog.segments(directory);
+            List<Item> logged = new ArrayList<>();
+            WriteAheadLog.replay(WriteAheadLog.segmentFile(directory, segments.get(segments.size() - 1)),
+                    new ItemChangeListener() {
+                        @Override
+                        public void onSave(Item item) {
+                            logged.add(item);
+                        }
+
+                        @Override
+                        public void onDelete(Long id) {
+                        }
+                    });
+            assertThat(logged).extracting(Item::name).containsExactly("Acknowledged");
+        }
+    }
+
+    private PersistenceProperties properties() {
+        return new PersistenceProperties(true, directory.toString(), 16, Duration.ofMillis(1), true, Duration.ofHours(1));
+    }
+}
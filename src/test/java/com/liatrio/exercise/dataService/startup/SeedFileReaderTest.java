@@ -0,0 +1,65 @@
+package com.liatrio.exercise.dataService.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liatrio.exercise.dataService.model.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeedFileReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_Csv_ShouldSkipTheHeaderAndUnquoteNames() throws Exception {
+        // Given
+        Path file = Files.writeString(directory.resolve("items.csv"),
+                "id,name\r\n1,Plain\r\n2,\"Comma, and \"\"quotes\"\"\"\r\n\r\n3,\r\n");
+
+        // When
+        List<Item> items = SeedFileReader.read(file, 2, objectMapper);
+
+        // Then
+        assertThat(items).containsExactly(
+                new Item(1L, "Plain"), new Item(2L, "Comma, and \"quotes\""), new Item(3L, ""));
+    }
+
+    @Test
+    void read_WithManyRanges_ShouldKeepFileOrder() throws Exception {
+        // Given
+        Path file = Files.writeString(directory.resolve("items.ndjson"), LongStream.rangeClosed(1, 10_000)
+                .mapToObj(id -> "{\"id\":" + id + ",\"name\":\"Item " + id + "\"}")
+                .collect(Collectors.joining("\n")));
+
+        // When
+        List<Item> items = SeedFileReader.read(file, 7, objectMapper);
+
+        // Then
+        assertThat(items).hasSize(10_000);
+        assertThat(items).extracting(Item::id).isSorted().doesNotHaveDuplicates();
+        assertThat(items.get(9_999)).isEqualTo(new Item(10_000L, "Item 10000"));
+    }
+
+    @Test
+    void read_WithMalformedLine_ShouldFailWithItsOffset() throws Exception {
+        // Given
+        Path file = Files.writeString(directory.resolve("items.csv"), "1,First\nsecond\n");
+
+        // When & Then
+        assertThatThrownBy(() -> SeedFileReader.read(file, 1, objectMapper))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("at byte 8");
+    }
+}
@@ -0,0 +1,84 @@
+package com.liatrio.exercise.dataService.tracing;
+
+import com.liatrio.exercise.dataService.repository.CoreProcessItemsRepository;
+import com.liatrio.exercise.dataService.repository.InMemoryCoreProcessItemsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTracingFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CoreProcessItemsRepository repository =
+            new TracingCoreProcessItemsRepository(new InMemoryCoreProcessItemsRepository());
+
+    @Test
+    void sampledRequest_ShouldRecordRepositoryCallsAsTheirOwnPhase() throws Exception {
+        // Given
+        RequestTracingFilter filter = new RequestTracingFilter(1.0, Long.MAX_VALUE, registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/coreProcess/items/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/coreProcess/items/{id}");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestTrace trace = RequestTrace.current();
+            trace.handlerStarted();
+            repository.findItem(1L);
+            repository.itemVersion(1L);
+            trace.handlerEnded();
+        });
+
+        // Then
+        assertThat(RequestTrace.current()).isNull();
+        assertThat(phaseCount("repository")).isEqualTo(1);
+        assertThat(phaseTotal("repository")).isPositive();
+        assertThat(phaseCount("other")).isEqualTo(1);
+    }
+
+    @Test
+    void sampledRequests_ShouldShareThePhaseTimersOfTheirRoute() throws Exception {
+        // Given
+        RequestTracingFilter filter = new RequestTracingFilter(1.0, Long.MAX_VALUE, registry);
+
+        // When
+        for (String id : new String[] {"1", "2"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/coreProcess/items/" + id);
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/coreProcess/items/{id}");
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> repository.findItem(1L));
+        }
+
+        // Then one timer per phase
+        assertThat(registry.find(RequestTracingFilter.PHASE_TIMER).timers()).hasSize(5);
+        assertThat(phaseCount("repository")).isEqualTo(2);
+    }
+
+    @Test
+    void unsampledRequest_ShouldNotBeTraced() throws Exception {
+        // Given
+        RequestTracingFilter filter = new RequestTracingFilter(0.0, Long.MAX_VALUE, registry);
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/coreProcess/items/1"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    assertThat(RequestTrace.current()).isNull();
+                    repository.findItem(1L);
+                });
+
+        // Then
+        assertThat(registry.find(RequestTracingFilter.PHASE_TIMER).timers()).isEmpty();
+    }
+
+    private long phaseCount(String phase) {
+        return registry.get(RequestTracingFilter.PHASE_TIMER).tag("phase", phase).timer().count();
+    }
+
+    private double phaseTotal(String phase) {
+        return registry.get(RequestTracingFilter.PHASE_TIMER).tag("phase", phase).timer().totalTime(TimeUnit.NANOSECONDS);
+    }
+}